@@ -0,0 +1,139 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.EmailAddress;
+import com.contactmanagement.backend.entity.PhoneNumber;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts imported contacts with JDBC batches instead of entity persists: one batched insert per
+ * table per call, no persistence context, and no per-row id round trip.
+ *
+ * Each batch reserves a block of change sequence numbers from the user's contacts version (the
+ * same counter delta sync reads), so imported contacts show up in {@code /changes} and bump the
+ * list ETag. The reserved numbers also identify the new rows, which is how their generated ids
+ * are found for the child inserts. {@link #insert} therefore requires the caller's transaction and
+ * fails without one: the version row stays locked until commit, so no other write can take
+ * numbers from the block.
+ */
+@Component
+public class ContactBatchWriter {
+
+    /** Length of the plain VARCHAR columns the contact tables are created with. */
+    static final int MAX_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContactBatchWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Why a mapped contact cannot be inserted, or null if it can.
+     */
+    static String validate(Contact contact) {
+        if (contact.getFirstName() == null || contact.getFirstName().isBlank()) {
+            return "First name is required";
+        }
+        if (tooLong(contact.getFirstName()) || tooLong(contact.getLastName()) || tooLong(contact.getTitle())) {
+            return "Name or title is longer than " + MAX_LENGTH + " characters";
+        }
+        for (PhoneNumber phone : contact.getPhoneNumbers()) {
+            if (tooLong(phone.getPhone())) {
+                return "Phone number is longer than " + MAX_LENGTH + " characters";
+            }
+        }
+        for (EmailAddress email : contact.getEmailAddresses()) {
+            if (tooLong(email.getEmail())) {
+                return "Email address is longer than " + MAX_LENGTH + " characters";
+            }
+        }
+        for (String tag : contact.getTags()) {
+            if (tooLong(tag)) {
+                return "Tag is longer than " + MAX_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Insert contacts of one user with their phone numbers, emails and tags.
+     *
+     * @return number of contacts inserted
+     * @throws org.springframework.transaction.IllegalTransactionStateException if no transaction is active
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insert(Long userId, List<Contact> contacts) {
+        int count = contacts.size();
+        if (count == 0) {
+            return 0;
+        }
+        jdbcTemplate.update("UPDATE users SET contacts_version = contacts_version + ? WHERE id = ?", count, userId);
+        Long last = jdbcTemplate.queryForObject("SELECT contacts_version FROM users WHERE id = ?", Long.class, userId);
+        long first = last - count + 1;
+
+        List<Object[]> contactRows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Contact contact = contacts.get(i);
+            contactRows.add(new Object[]{userId, contact.getFirstName(), contact.getLastName(), contact.getTitle(),
+                    contact.getNameKey(), contact.getLastNameKey(), contact.getTitleKey(),
+                    contact.getProfileImageHash(), Boolean.TRUE.equals(contact.getIsFavorite()), first + i});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO contacts (user_id, first_name, last_name, title, name_key, last_name_key, title_key, " +
+                "profile_image_hash, is_favorite, version, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)",
+                contactRows);
+
+        Map<Long, Long> idsBySeq = new HashMap<>(count * 2);
+        jdbcTemplate.query("SELECT id, change_seq FROM contacts WHERE user_id = ? AND change_seq BETWEEN ? AND ?",
+                rs -> {
+                    idsBySeq.put(rs.getLong("change_seq"), rs.getLong("id"));
+                }, userId, first, last);
+
+        List<Object[]> phoneRows = new ArrayList<>();
+        List<Object[]> emailRows = new ArrayList<>();
+        List<Object[]> tagRows = new ArrayList<>();
+        List<Object[]> tagKeyRows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Contact contact = contacts.get(i);
+            Long contactId = idsBySeq.get(first + i);
+            for (PhoneNumber phone : contact.getPhoneNumbers()) {
+                phoneRows.add(new Object[]{phone.getPhone(), phone.getPhoneDigits(), phone.getLabel(), contactId});
+            }
+            for (EmailAddress email : contact.getEmailAddresses()) {
+                emailRows.add(new Object[]{email.getEmail(), email.getEmailKey(), email.getLabel(), contactId});
+            }
+            for (String tag : contact.getTags()) {
+                tagRows.add(new Object[]{contactId, tag});
+            }
+            // Tags are appended to the list by the readers, which the tag key setter does not see
+            for (String key : Contact.tagKeysOf(contact.getTags())) {
+                tagKeyRows.add(new Object[]{contactId, key});
+            }
+        }
+        if (!phoneRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO phone_numbers (phone, phone_digits, label, contact_id) VALUES (?, ?, ?, ?)", phoneRows);
+        }
+        if (!emailRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO email_addresses (email, email_key, label, contact_id) VALUES (?, ?, ?, ?)", emailRows);
+        }
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO contact_tags (contact_id, tag) VALUES (?, ?)", tagRows);
+            jdbcTemplate.batchUpdate("INSERT INTO contact_tag_keys (contact_id, tag_key) VALUES (?, ?)", tagKeyRows);
+        }
+        return count;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_LENGTH;
+    }
+}
@@ -0,0 +1,17 @@
+package com.contactmanagement.backend.bulkimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Forward-only reader of contacts from an import file. Implementations hold a bounded number of
+ * records in memory, so files of any size can be imported, and can be reopened at the
+ * {@link ImportRecord#end() end} of any record they returned.
+ */
+interface ContactSource extends Closeable {
+
+    /**
+     * @return the next record, or null at the end of the file
+     */
+    ImportRecord next() throws IOException;
+}
@@ -0,0 +1,163 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.EmailAddress;
+import com.contactmanagement.backend.entity.PhoneNumber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps CSV rows onto contacts using the columns named in the header row. Immutable once built,
+ * so one mapper is shared by all parser threads of a job.
+ *
+ * Recognized headers, case and punctuation ignored: firstName, lastName, title, favorite, tags,
+ * email and phone. Email and phone columns may carry a label, as in {@code phone:work} or
+ * {@code email (work)}; unlabeled ones get the frontend defaults. Cells of tags, email and phone
+ * columns may hold several values separated by {@code ;}. Other columns are ignored.
+ */
+final class CsvContactMapper {
+
+    private static final String DEFAULT_PHONE_LABEL = "mobile";
+    private static final String DEFAULT_EMAIL_LABEL = "personal";
+
+    private enum Field { FIRST_NAME, LAST_NAME, TITLE, FAVORITE, TAGS, EMAIL, PHONE }
+
+    private record Column(int index, Field field, String label) {
+    }
+
+    private final List<Column> columns = new ArrayList<>();
+
+    private CsvContactMapper() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the header has no first name column
+     */
+    static CsvContactMapper fromHeader(List<String> header) {
+        CsvContactMapper mapper = new CsvContactMapper();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            String label = null;
+            int separator = indexOfAny(name, ":(");
+            if (separator > 0) {
+                label = name.substring(separator + 1).replace(")", "").trim().toLowerCase(Locale.ROOT);
+                name = name.substring(0, separator);
+            }
+            Field field = switch (name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "")) {
+                case "firstname", "givenname", "first" -> Field.FIRST_NAME;
+                case "lastname", "familyname", "surname", "last" -> Field.LAST_NAME;
+                case "title", "jobtitle" -> Field.TITLE;
+                case "favorite", "favourite", "isfavorite" -> Field.FAVORITE;
+                case "tags", "categories" -> Field.TAGS;
+                case "email", "emailaddress" -> Field.EMAIL;
+                case "phone", "phonenumber", "telephone" -> Field.PHONE;
+                default -> null;
+            };
+            if (field != null) {
+                mapper.columns.add(new Column(i, field, label == null || label.isEmpty() ? null : label));
+            }
+        }
+        if (mapper.columns.stream().noneMatch(column -> column.field() == Field.FIRST_NAME)) {
+            throw new IllegalArgumentException("CSV header has no firstName column");
+        }
+        return mapper;
+    }
+
+    Contact map(List<String> row) {
+        Contact contact = new Contact();
+        for (Column column : columns) {
+            String value = column.index() < row.size() ? row.get(column.index()).trim() : "";
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (column.field()) {
+                case FIRST_NAME -> contact.setFirstName(value);
+                case LAST_NAME -> contact.setLastName(value);
+                case TITLE -> contact.setTitle(value);
+                case FAVORITE -> contact.setIsFavorite(isTrue(value));
+                case TAGS -> values(value).stream()
+                        .filter(tag -> !contact.getTags().contains(tag))
+                        .forEach(contact.getTags()::add);
+                case EMAIL -> values(value).forEach(address -> {
+                    EmailAddress email = new EmailAddress();
+                    email.setEmail(address);
+                    email.setLabel(column.label() != null ? column.label() : DEFAULT_EMAIL_LABEL);
+                    email.setContact(contact);
+                    contact.getEmailAddresses().add(email);
+                });
+                case PHONE -> values(value).forEach(number -> {
+                    PhoneNumber phone = new PhoneNumber();
+                    phone.setPhone(number);
+                    phone.setLabel(column.label() != null ? column.label() : DEFAULT_PHONE_LABEL);
+                    phone.setContact(contact);
+                    contact.getPhoneNumbers().add(phone);
+                });
+            }
+        }
+        if (contact.getLastName() == null) {
+            contact.setLastName("");
+        }
+        return contact;
+    }
+
+    /**
+     * Split one RFC 4180 record into fields. Quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    static List<String> parseFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static List<String> values(String cell) {
+        List<String> values = new ArrayList<>();
+        for (String value : cell.split(";")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+    private static boolean isTrue(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1", "x" -> true;
+            default -> false;
+        };
+    }
+
+    private static int indexOfAny(String value, String characters) {
+        for (int i = 0; i < value.length(); i++) {
+            if (characters.indexOf(value.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,180 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.entity.Contact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * CSV reader that parses in parallel but returns records in file order.
+ *
+ * The calling thread only splits the file into chunks of raw records, which needs nothing more
+ * than tracking quote parity to find rows that span lines. Field parsing, mapping and validation
+ * of each chunk run on the {@code parsers} pool, with at most {@code window} chunks in flight, so
+ * memory stays bounded while parsing keeps ahead of the inserts.
+ */
+final class CsvReader implements ContactSource {
+
+    /** Longest row kept, in bytes; longer ones are reported as errors. */
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    /**
+     * Row as split from the file, not yet parsed; {@code error} is set when it could not be delimited.
+     */
+    private record RawRecord(long lineNumber, String text, String error, ImportRecord.Position end) {
+    }
+
+    private final LineReader reader;
+    private final CsvContactMapper mapper;
+    private final ExecutorService parsers;
+    private final int chunkSize;
+    private final int window;
+    private final Deque<Future<List<ImportRecord>>> inFlight = new ArrayDeque<>();
+    private Iterator<ImportRecord> current = Collections.emptyIterator();
+    private boolean endOfFile;
+
+    /**
+     * @param start position to continue from; the header row is always read first
+     * @throws IllegalArgumentException if the file has no usable header row
+     */
+    CsvReader(InputStream in, ImportRecord.Position start, ExecutorService parsers, int chunkSize, int window)
+            throws IOException {
+        this.reader = new LineReader(in, MAX_RECORD_LENGTH);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        this.mapper = CsvContactMapper.fromHeader(CsvContactMapper.parseFields(header));
+        if (start.offset() > reader.offset()) {
+            reader.seek(start.offset(), start.lineNumber());
+        }
+        this.parsers = parsers;
+        this.chunkSize = chunkSize;
+        this.window = window;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (!current.hasNext()) {
+            while (!endOfFile && inFlight.size() < window) {
+                List<RawRecord> chunk = readChunk();
+                if (!chunk.isEmpty()) {
+                    inFlight.add(parsers.submit(() -> parse(chunk)));
+                }
+            }
+            Future<List<ImportRecord>> head = inFlight.poll();
+            if (head == null) {
+                return null;
+            }
+            current = await(head).iterator();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        inFlight.forEach(future -> future.cancel(true));
+        reader.close();
+    }
+
+    private List<RawRecord> readChunk() throws IOException {
+        List<RawRecord> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize) {
+            RawRecord record = readRecord();
+            if (record == null) {
+                endOfFile = true;
+                break;
+            }
+            chunk.add(record);
+        }
+        return chunk;
+    }
+
+    /**
+     * Next non-blank row, joining physical lines while a quoted field is open.
+     */
+    private RawRecord readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        long start = reader.lineNumber();
+        if (reader.truncated()) {
+            return new RawRecord(start, null, "Row is longer than " + MAX_RECORD_LENGTH + " bytes", position());
+        }
+        StringBuilder text = new StringBuilder(line);
+        boolean quoted = hasOddQuotes(line);
+        while (quoted) {
+            String more = reader.readLine();
+            if (more == null) {
+                return new RawRecord(start, null, "Quoted field is not closed", position());
+            }
+            if (reader.truncated() || text.length() + more.length() >= MAX_RECORD_LENGTH) {
+                return new RawRecord(start, null, "Quoted field is not closed or row is too long", position());
+            }
+            text.append('\n').append(more);
+            quoted ^= hasOddQuotes(more);
+        }
+        return new RawRecord(start, text.toString(), null, position());
+    }
+
+    private ImportRecord.Position position() {
+        return new ImportRecord.Position(reader.offset(), reader.lineNumber());
+    }
+
+    /**
+     * Runs on a parser thread: the mapper is immutable and each chunk is touched by one thread only.
+     */
+    private List<ImportRecord> parse(List<RawRecord> chunk) {
+        List<ImportRecord> records = new ArrayList<>(chunk.size());
+        for (RawRecord raw : chunk) {
+            if (raw.error() != null) {
+                records.add(ImportRecord.invalid(raw.lineNumber(), raw.error(), raw.end()));
+            } else {
+                Contact contact = mapper.map(CsvContactMapper.parseFields(raw.text()));
+                records.add(ImportRecord.of(raw.lineNumber(), contact, ContactBatchWriter.validate(contact), raw.end()));
+            }
+        }
+        return records;
+    }
+
+    private static List<ImportRecord> await(Future<List<ImportRecord>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static boolean hasOddQuotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 1;
+    }
+}
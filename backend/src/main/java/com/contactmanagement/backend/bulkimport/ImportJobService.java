@@ -0,0 +1,416 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.config.ImportProperties;
+import com.contactmanagement.backend.dto.ImportJobDTO;
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.ImportJob;
+import com.contactmanagement.backend.entity.ImportJobError;
+import com.contactmanagement.backend.exception.BadRequestException;
+import com.contactmanagement.backend.exception.ResourceNotFoundException;
+import com.contactmanagement.backend.exception.ServiceUnavailableException;
+import com.contactmanagement.backend.exception.TooManyRequestsException;
+import com.contactmanagement.backend.repository.ImportJobErrorRepository;
+import com.contactmanagement.backend.repository.ImportJobRepository;
+import com.contactmanagement.backend.search.ContactSearchIndex;
+import com.contactmanagement.backend.security.SecurityUtils;
+import com.contactmanagement.backend.service.ContactCache;
+import com.contactmanagement.backend.service.ContactCountCache;
+import com.contactmanagement.backend.service.ImageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs contact imports in the background.
+ *
+ * An upload is spooled to {@code contacts.import.directory} and a job row is returned right away;
+ * a small bounded pool then streams the file through a {@link ContactSource} and inserts contacts
+ * {@code contacts.import.batch-size} at a time with {@link ContactBatchWriter}. Each batch, its
+ * record errors and the job counters commit together, so the status endpoint always reports what
+ * has actually been imported. Memory stays at one batch whatever the file size.
+ *
+ * CSV files are split into chunks that are parsed and validated on a shared fork-join pool
+ * ({@code contacts.import.parse-threads}) while the job thread inserts the previous ones; records
+ * still come out in file order. Parsing is CPU-bound, so a pool sized to the cores fits it better
+ * than virtual threads.
+ *
+ * Every batch also commits the byte offset and line behind its last record. A job interrupted by
+ * a shutdown or crash is queued again at the next startup of the instance that accepted it
+ * ({@code contacts.import.instance-id}) and continues from there, so each row is imported exactly
+ * once. Other instances leave it alone, whether or not they share the spool directory; jobs from
+ * before instances were recorded go to whichever instance claims them first.
+ *
+ * Each user may have {@code contacts.import.max-active-per-user} jobs queued or running, so one
+ * account cannot take every slot of the shared queue.
+ *
+ * Metrics: imports.contacts, imports.rejected and executor.* gauges tagged name=imports and
+ * name=import-parsers.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    /** Record errors returned with the job status; all of them are kept up to contacts.import.max-errors. */
+    private static final int ERRORS_SHOWN = 100;
+    private static final int MESSAGE_LENGTH = 500;
+    private static final List<ImportJob.Status> ACTIVE = List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING);
+    private static final long ACTIVE_LIMIT_RETRY_SECONDS = 30;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ContactBatchWriter contactBatchWriter;
+    private final ImageService imageService;
+    private final SecurityUtils securityUtils;
+    private final ContactCache contactCache;
+    private final ContactCountCache contactCountCache;
+    private final ContactSearchIndex searchIndex;
+    private final TransactionTemplate transaction;
+    private final ImportProperties properties;
+    private final String instanceId;
+    private final ThreadPoolExecutor executor;
+    private final ForkJoinPool parsers;
+    private volatile boolean shuttingDown;
+    private final Counter imported;
+    private final Counter rejected;
+
+    public ImportJobService(ImportJobRepository importJobRepository, ImportJobErrorRepository importJobErrorRepository,
+                            ContactBatchWriter contactBatchWriter, ImageService imageService,
+                            SecurityUtils securityUtils, ContactCache contactCache,
+                            ContactCountCache contactCountCache, ContactSearchIndex searchIndex,
+                            PlatformTransactionManager transactionManager, ImportProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.contactBatchWriter = contactBatchWriter;
+        this.imageService = imageService;
+        this.securityUtils = securityUtils;
+        this.contactCache = contactCache;
+        this.contactCountCache = contactCountCache;
+        this.searchIndex = searchIndex;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.instanceId = properties.getInstanceId().isBlank() ? hostName() : properties.getInstanceId();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new NamedThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "imports");
+        this.parsers = new ForkJoinPool(properties.getParseThreads() > 0
+                ? properties.getParseThreads() : Runtime.getRuntime().availableProcessors());
+        ExecutorServiceMetrics.monitor(meterRegistry, parsers, "import-parsers");
+        this.imported = Counter.builder("imports.contacts")
+                .description("Contacts inserted by import jobs")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("imports.rejected")
+                .description("Import jobs refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spool an uploaded file and queue its import for the current user.
+     *
+     * @throws BadRequestException         if the file is empty
+     * @throws TooManyRequestsException    if the user already has the maximum number of active imports
+     * @throws ServiceUnavailableException if the import queue is full
+     */
+    public ImportJobDTO submit(ImportJob.Format format, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        Long userId = securityUtils.getCurrentUserId();
+        if (importJobRepository.countByUserIdAndStatusIn(userId, ACTIVE) >= properties.getMaxActivePerUser()) {
+            throw new TooManyRequestsException("Too many imports in progress, wait for one to finish",
+                    ACTIVE_LIMIT_RETRY_SECONDS);
+        }
+        ImportJob job = new ImportJob();
+        job.setUserId(userId);
+        job.setInstanceId(instanceId);
+        job.setFormat(format);
+        job.setStatus(ImportJob.Status.QUEUED);
+        job.setFileName(file.getOriginalFilename());
+        job.setTotalBytes(file.getSize());
+        job.setCreatedAt(Instant.now());
+        job = importJobRepository.save(job);
+
+        Long jobId = job.getId();
+        try {
+            Path upload = uploadPath(jobId);
+            Files.createDirectories(upload.getParent());
+            file.transferTo(upload);
+        } catch (IOException e) {
+            fail(job, "Could not store the upload: " + e.getMessage());
+            throw new ServiceUnavailableException("Could not store the import file");
+        }
+        if (!enqueue(job)) {
+            throw new ServiceUnavailableException("Too many imports in progress, please retry later");
+        }
+        logger.info("Queued {} import {} for user {} ({} bytes)", format, jobId, job.getUserId(), job.getTotalBytes());
+        return toDTO(job, List.of());
+    }
+
+    /**
+     * Status of one of the current user's import jobs.
+     */
+    public ImportJobDTO getJob(Long id) {
+        ImportJob job = importJobRepository.findByIdAndUserId(id, securityUtils.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id: " + id));
+        return toDTO(job, importJobErrorRepository.findByJobIdOrderByLineNumber(id, Limit.of(ERRORS_SHOWN)));
+    }
+
+    /**
+     * This instance's jobs still queued or running were cut off by a shutdown or crash; continue
+     * them from their last committed batch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeInterruptedJobs() {
+        for (ImportJob job : importJobRepository.findByInstanceIdIsNullAndStatusIn(ACTIVE)) {
+            importJobRepository.claim(job.getId(), instanceId);
+        }
+        for (ImportJob job : importJobRepository.findByInstanceIdAndStatusIn(instanceId, ACTIVE)) {
+            if (!Files.exists(uploadPath(job.getId()))) {
+                logger.warn("Import {} was interrupted and its upload is gone", job.getId());
+                fail(job, "Interrupted by a server restart");
+                continue;
+            }
+            logger.info("Resuming import {} at line {}", job.getId(), job.getLinesRead());
+            job.setStatus(ImportJob.Status.QUEUED);
+            enqueue(importJobRepository.save(job));
+        }
+    }
+
+    /**
+     * @return false if the queue was full; the job has then been marked failed
+     */
+    private boolean enqueue(ImportJob job) {
+        Long jobId = job.getId();
+        try {
+            executor.execute(() -> run(jobId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            fail(job, "Import queue was full");
+            deleteUpload(jobId);
+            return false;
+        }
+    }
+
+    void run(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(ImportJob.Status.RUNNING);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(Instant.now());
+        }
+        job = importJobRepository.save(job);
+        long started = System.nanoTime();
+        try (ContactSource source = open(job)) {
+            importAll(job, source);
+            job.setStatus(ImportJob.Status.COMPLETED);
+            job.setFinishedAt(Instant.now());
+            importJobRepository.save(job);
+            logger.info("Import {} finished: {} contacts, {} failed records in {} ms", jobId,
+                    job.getContactsImported(), job.getRecordsFailed(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            if (shuttingDown) {
+                // Left running with its upload in place, to be resumed at the next startup
+                logger.info("Import {} stopped by shutdown at line {}", jobId, job.getLinesRead());
+                return;
+            }
+            logger.warn("Import {} failed: {}", jobId, e.getMessage());
+            // Counters of the batch that failed were rolled back; reload what was committed
+            fail(importJobRepository.findById(jobId).orElse(job), "Import failed: " + e.getMessage());
+        }
+        deleteUpload(jobId);
+    }
+
+    /**
+     * Open the job's upload at the position its last committed batch ended.
+     */
+    private ContactSource open(ImportJob job) throws IOException {
+        ImportRecord.Position start = new ImportRecord.Position(job.getBytesRead(), job.getLinesRead());
+        InputStream in = Files.newInputStream(uploadPath(job.getId()));
+        try {
+            return switch (job.getFormat()) {
+                case VCARD -> new VCardReader(in, start, this::photoHash);
+                case CSV -> new CsvReader(in, start, parsers, properties.getChunkSize(), 2 * parsers.getParallelism());
+            };
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private void importAll(ImportJob job, ContactSource source) throws IOException {
+        List<ImportRecord> batch = new ArrayList<>(properties.getBatchSize());
+        ImportRecord record;
+        while ((record = source.next()) != null) {
+            batch.add(record);
+            if (batch.size() == properties.getBatchSize()) {
+                commitBatch(job, batch);
+                batch.clear();
+            }
+        }
+        commitBatch(job, batch);
+    }
+
+    /**
+     * Insert the valid records of a batch and store the errors of the others, updating the job in the same transaction.
+     */
+    private void commitBatch(ImportJob job, List<ImportRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ImportRecord.Position end = batch.get(batch.size() - 1).end();
+        List<Contact> contacts = new ArrayList<>(batch.size());
+        List<ImportJobError> errors = new ArrayList<>();
+        long errorsKept = Math.min(job.getRecordsFailed(), properties.getMaxErrors());
+        for (ImportRecord record : batch) {
+            if (record.error() == null) {
+                contacts.add(record.contact());
+            } else if (errorsKept + errors.size() < properties.getMaxErrors()) {
+                ImportJobError error = new ImportJobError();
+                error.setJobId(job.getId());
+                error.setLineNumber(record.lineNumber());
+                error.setMessage(truncate(record.error()));
+                errors.add(error);
+            }
+        }
+        transaction.executeWithoutResult(status -> {
+            int inserted = contactBatchWriter.insert(job.getUserId(), contacts);
+            importJobErrorRepository.saveAll(errors);
+            job.setBytesRead(end.offset());
+            job.setLinesRead(end.lineNumber());
+            job.setRecordsProcessed(job.getRecordsProcessed() + batch.size());
+            job.setContactsImported(job.getContactsImported() + inserted);
+            job.setRecordsFailed(job.getRecordsFailed() + batch.size() - inserted);
+            importJobRepository.save(job);
+            if (inserted > 0) {
+                contactCache.evictPages(job.getUserId());
+                contactCountCache.invalidate(job.getUserId());
+                searchIndex.invalidate(job.getUserId());
+            }
+        });
+        imported.increment(contacts.size());
+    }
+
+    /**
+     * Store an imported photo; one that is not an acceptable image is dropped rather than failing the contact.
+     */
+    private String photoHash(String value) {
+        try {
+            return imageService.resolveHash(value);
+        } catch (BadRequestException e) {
+            return null;
+        }
+    }
+
+    private void fail(ImportJob job, String message) {
+        job.setStatus(ImportJob.Status.FAILED);
+        job.setMessage(truncate(message));
+        job.setFinishedAt(Instant.now());
+        importJobRepository.save(job);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private Path uploadPath(Long jobId) {
+        return Paths.get(properties.getDirectory()).toAbsolutePath().resolve(jobId + ".upload");
+    }
+
+    private void deleteUpload(Long jobId) {
+        try {
+            Files.deleteIfExists(uploadPath(jobId));
+        } catch (IOException e) {
+            logger.warn("Could not delete upload of import {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MESSAGE_LENGTH ? message : message.substring(0, MESSAGE_LENGTH);
+    }
+
+    private static ImportJobDTO toDTO(ImportJob job, List<ImportJobError> errors) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.getId());
+        dto.setFormat(job.getFormat().name());
+        dto.setStatus(job.getStatus().name());
+        dto.setFileName(job.getFileName());
+        dto.setTotalBytes(job.getTotalBytes());
+        dto.setBytesRead(job.getBytesRead());
+        dto.setProgress(job.getStatus() == ImportJob.Status.COMPLETED ? 100
+                : job.getTotalBytes() > 0 ? (int) Math.min(99, job.getBytesRead() * 100 / job.getTotalBytes()) : 0);
+        dto.setRecordsProcessed(job.getRecordsProcessed());
+        dto.setContactsImported(job.getContactsImported());
+        dto.setRecordsFailed(job.getRecordsFailed());
+        if (job.getStartedAt() != null) {
+            Instant until = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), until).toMillis());
+            dto.setRecordsPerSecond(job.getRecordsProcessed() * 1000 / millis);
+        }
+        dto.setMessage(job.getMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setErrors(errors.stream()
+                .map(error -> new ImportJobDTO.RecordError(error.getLineNumber(), error.getMessage()))
+                .toList());
+        return dto;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shuttingDown = true;
+        executor.shutdownNow();
+        parsers.shutdownNow();
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "imports-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
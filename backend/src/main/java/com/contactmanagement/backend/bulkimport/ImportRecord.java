@@ -0,0 +1,32 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.entity.Contact;
+
+/**
+ * One record read from an import file: the mapped contact, or why it cannot be imported.
+ *
+ * @param lineNumber line the record starts on, 1-based
+ * @param contact    unsaved contact with its phone numbers and emails, null when {@code error} is set
+ * @param end        where the next record starts; a job resumed from here continues after this record
+ */
+record ImportRecord(long lineNumber, Contact contact, String error, Position end) {
+
+    /**
+     * Point in an import file between two records.
+     *
+     * @param offset     bytes before it
+     * @param lineNumber lines before it
+     */
+    record Position(long offset, long lineNumber) {
+
+        static final Position START = new Position(0, 0);
+    }
+
+    static ImportRecord of(long lineNumber, Contact contact, String error, Position end) {
+        return error == null ? new ImportRecord(lineNumber, contact, null, end) : new ImportRecord(lineNumber, null, error, end);
+    }
+
+    static ImportRecord invalid(long lineNumber, String error, Position end) {
+        return new ImportRecord(lineNumber, null, error, end);
+    }
+}
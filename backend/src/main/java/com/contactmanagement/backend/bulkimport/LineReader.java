@@ -0,0 +1,128 @@
+package com.contactmanagement.backend.bulkimport;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads UTF-8 lines while tracking the exact byte offset and line number reached, so a job can
+ * checkpoint after any line and later continue from there with {@link #seek}. Lines end at LF;
+ * a trailing CR is dropped. Bytes past {@code maxLength} on one line are discarded rather than
+ * buffered, which bounds memory on malformed input.
+ */
+final class LineReader implements Closeable {
+
+    private final InputStream in;
+    private final int maxLength;
+    private final byte[] chunk = new byte[64 * 1024];
+    private int position;
+    private int limit;
+    private byte[] line = new byte[256];
+    private long offset;
+    private long lineNumber;
+    private boolean truncated;
+
+    LineReader(InputStream in, int maxLength) {
+        this.in = in;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Skip ahead to a position previously read from {@link #offset()} and {@link #lineNumber()}.
+     */
+    void seek(long targetOffset, long targetLineNumber) throws IOException {
+        long remaining = targetOffset - offset;
+        while (remaining > 0) {
+            if (position == limit && !fill()) {
+                throw new EOFException("Import file is shorter than its checkpoint");
+            }
+            int n = (int) Math.min(remaining, limit - position);
+            position += n;
+            remaining -= n;
+        }
+        offset = targetOffset;
+        lineNumber = targetLineNumber;
+    }
+
+    /**
+     * @return the next line without its terminator, or null at the end of the input
+     */
+    String readLine() throws IOException {
+        int length = 0;
+        boolean any = false;
+        truncated = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!any) {
+                    return null;
+                }
+                break;
+            }
+            any = true;
+            int start = position;
+            int end = start;
+            while (end < limit && chunk[end] != '\n') {
+                end++;
+            }
+            boolean terminated = end < limit;
+            length = append(length, start, end);
+            position = terminated ? end + 1 : end;
+            offset += position - start;
+            if (terminated) {
+                break;
+            }
+        }
+        lineNumber++;
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** Bytes consumed through the end of the last line read. */
+    long offset() {
+        return offset;
+    }
+
+    /** Number of the last line read, 1-based. */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    /** Whether the last line read was cut at the maximum length. */
+    boolean truncated() {
+        return truncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int append(int length, int start, int end) {
+        int n = Math.min(end - start, maxLength - length);
+        if (n < end - start) {
+            truncated = true;
+        }
+        if (n > 0) {
+            if (length + n > line.length) {
+                line = Arrays.copyOf(line, Math.max(length + n, Math.min(maxLength, line.length * 2)));
+            }
+            System.arraycopy(chunk, start, line, length, n);
+        }
+        return length + Math.max(n, 0);
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(chunk);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
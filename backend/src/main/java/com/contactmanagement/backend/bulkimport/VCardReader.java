@@ -0,0 +1,273 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.EmailAddress;
+import com.contactmanagement.backend.entity.PhoneNumber;
+import com.contactmanagement.backend.util.VCards;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Streaming vCard reader: unfolds content lines one at a time and maps each card onto an
+ * unsaved {@link Contact}. Reads vCard 4.0 and the common 3.0 forms (bare TYPE parameters,
+ * inline base64 PHOTO). Quoted-printable values from 2.1 files are taken as-is.
+ *
+ * Only N/FN, TITLE, TEL, EMAIL, CATEGORIES and PHOTO are mapped; other properties are skipped.
+ */
+final class VCardReader implements ContactSource {
+
+    /** Longest content line kept, in bytes; inline photos are the only thing that gets near it. */
+    static final int MAX_LINE_LENGTH = 8 * 1024 * 1024;
+
+    private final LineReader reader;
+    private final Function<String, String> photoHash;
+
+    /** Physical line read ahead to detect folding, and where it starts. */
+    private String lookahead;
+    private ImportRecord.Position lookaheadStart;
+    private long lineNumber;
+
+    /**
+     * @param start     position to continue from, {@link ImportRecord.Position#START} for a new import
+     * @param photoHash stores a PHOTO value (data URL or image URL) and returns its hash, or null to drop it
+     */
+    VCardReader(InputStream in, ImportRecord.Position start, Function<String, String> photoHash) throws IOException {
+        this.reader = new LineReader(in, MAX_LINE_LENGTH);
+        this.reader.seek(start.offset(), start.lineNumber());
+        this.photoHash = photoHash;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = nextContentLine();
+            if (line == null) {
+                return null;
+            }
+        } while (!line.equalsIgnoreCase("BEGIN:VCARD"));
+
+        long start = lineNumber;
+        Card card = new Card();
+        while ((line = nextContentLine()) != null) {
+            if (line.equalsIgnoreCase("END:VCARD")) {
+                return card.toRecord(start, consumed());
+            }
+            card.add(line);
+        }
+        return ImportRecord.invalid(start, "Card is missing END:VCARD", consumed());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Next unfolded, non-empty content line; {@link #lineNumber} is set to where it starts.
+     */
+    private String nextContentLine() throws IOException {
+        String first;
+        do {
+            first = readPhysical();
+            if (first == null) {
+                return null;
+            }
+            lookahead = null;
+        } while (first.isBlank());
+        lineNumber = reader.lineNumber();
+
+        StringBuilder line = new StringBuilder(first);
+        String next;
+        while ((next = readPhysical()) != null && !next.isEmpty()
+                && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (line.length() + next.length() <= MAX_LINE_LENGTH) {
+                line.append(next, 1, next.length());
+            }
+            lookahead = null;
+        }
+        return line.toString();
+    }
+
+    private String readPhysical() throws IOException {
+        if (lookahead == null) {
+            lookaheadStart = new ImportRecord.Position(reader.offset(), reader.lineNumber());
+            lookahead = reader.readLine();
+        }
+        return lookahead;
+    }
+
+    /**
+     * Position after the last content line returned, not counting the line read ahead.
+     */
+    private ImportRecord.Position consumed() {
+        return lookahead != null ? lookaheadStart : new ImportRecord.Position(reader.offset(), reader.lineNumber());
+    }
+
+    /**
+     * Properties of the card being read.
+     */
+    private final class Card {
+
+        private String formattedName;
+        private String family;
+        private String given;
+        private final Contact contact = new Contact();
+
+        void add(String line) {
+            int colon = valueSeparator(line);
+            if (colon < 0) {
+                return;
+            }
+            String[] parameters = line.substring(0, colon).split(";");
+            String name = parameters[0];
+            int dot = name.lastIndexOf('.');
+            if (dot >= 0) {
+                name = name.substring(dot + 1);
+            }
+            String value = line.substring(colon + 1);
+            switch (name.toUpperCase(Locale.ROOT)) {
+                case "FN" -> formattedName = VCards.unescape(value).trim();
+                case "N" -> {
+                    List<String> parts = split(value, ';');
+                    family = VCards.unescape(parts.get(0)).trim();
+                    given = parts.size() > 1 ? VCards.unescape(parts.get(1)).trim() : "";
+                }
+                case "TITLE" -> contact.setTitle(blankToNull(VCards.unescape(value)));
+                case "TEL" -> addPhone(stripPrefix(VCards.unescape(value), "tel:"), types(parameters));
+                case "EMAIL" -> addEmail(stripPrefix(VCards.unescape(value), "mailto:"), types(parameters));
+                case "CATEGORIES" -> split(value, ',').stream()
+                        .map(tag -> VCards.unescape(tag).trim())
+                        .filter(tag -> !tag.isEmpty() && !contact.getTags().contains(tag))
+                        .forEach(contact.getTags()::add);
+                case "PHOTO" -> contact.setProfileImageHash(photoHash.apply(photoValue(value, parameters)));
+                default -> { }
+            }
+        }
+
+        ImportRecord toRecord(long start, ImportRecord.Position end) {
+            String first = given;
+            String last = family;
+            if ((first == null || first.isEmpty()) && formattedName != null && !formattedName.isEmpty()) {
+                int space = formattedName.lastIndexOf(' ');
+                first = space > 0 ? formattedName.substring(0, space).trim() : formattedName;
+                last = space > 0 ? formattedName.substring(space + 1) : (last == null ? "" : last);
+            }
+            if (first == null || first.isEmpty()) {
+                return ImportRecord.invalid(start, "Card has no name", end);
+            }
+            contact.setFirstName(first);
+            contact.setLastName(last == null ? "" : last);
+            return ImportRecord.of(start, contact, ContactBatchWriter.validate(contact), end);
+        }
+
+        private void addPhone(String value, String types) {
+            if (value.isBlank()) {
+                return;
+            }
+            PhoneNumber phone = new PhoneNumber();
+            phone.setPhone(value.trim());
+            phone.setLabel(VCards.phoneLabel(types));
+            phone.setContact(contact);
+            contact.getPhoneNumbers().add(phone);
+        }
+
+        private void addEmail(String value, String types) {
+            if (value.isBlank()) {
+                return;
+            }
+            EmailAddress email = new EmailAddress();
+            email.setEmail(value.trim());
+            email.setLabel(VCards.emailLabel(types));
+            email.setContact(contact);
+            contact.getEmailAddresses().add(email);
+        }
+    }
+
+    /**
+     * Index of the colon ending the property name and parameters; colons inside quoted
+     * parameter values do not count.
+     */
+    private static int valueSeparator(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * All TYPE values of a property, comma-separated. vCard 3.0 also allows bare types such as {@code TEL;CELL:}.
+     */
+    private static String types(String[] parameters) {
+        StringBuilder types = new StringBuilder();
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i];
+            int equals = parameter.indexOf('=');
+            if (equals < 0) {
+                types.append(parameter).append(',');
+            } else if (parameter.substring(0, equals).equalsIgnoreCase("TYPE")) {
+                types.append(parameter.substring(equals + 1).replace("\"", "")).append(',');
+            }
+        }
+        return types.toString();
+    }
+
+    /**
+     * PHOTO as a URL: 4.0 values already are one; 3.0 inline photos ({@code ENCODING=b;TYPE=JPEG})
+     * become a data URL.
+     */
+    private static String photoValue(String value, String[] parameters) {
+        String encoding = null;
+        String type = "jpeg";
+        for (int i = 1; i < parameters.length; i++) {
+            String[] parameter = parameters[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].equalsIgnoreCase("ENCODING")) {
+                encoding = parameter[1];
+            } else if (parameter.length == 2 && parameter[0].equalsIgnoreCase("TYPE")) {
+                type = parameter[1].replace("\"", "").toLowerCase(Locale.ROOT);
+            }
+        }
+        if (encoding != null && (encoding.equalsIgnoreCase("b") || encoding.equalsIgnoreCase("base64"))) {
+            return "data:image/" + type + ";base64," + value.replaceAll("\\s", "");
+        }
+        return value.trim();
+    }
+
+    /**
+     * Split a structured value on a delimiter that is not backslash-escaped. Parts keep their escapes.
+     */
+    private static List<String> split(String value, char delimiter) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == delimiter) {
+                parts.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start));
+        return parts;
+    }
+
+    private static String stripPrefix(String value, String prefix) {
+        return value.regionMatches(true, 0, prefix, 0, prefix.length()) ? value.substring(prefix.length()) : value;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
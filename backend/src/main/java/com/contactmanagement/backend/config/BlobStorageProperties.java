@@ -0,0 +1,37 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "storage.blobs")
+public class BlobStorageProperties {
+
+    private String directory = "data/blobs";
+    private int maxImageBytes = 5 * 1024 * 1024;
+    private int migrationBatchSize = 100;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getMaxImageBytes() {
+        return maxImageBytes;
+    }
+
+    public void setMaxImageBytes(int maxImageBytes) {
+        this.maxImageBytes = maxImageBytes;
+    }
+
+    public int getMigrationBatchSize() {
+        return migrationBatchSize;
+    }
+
+    public void setMigrationBatchSize(int migrationBatchSize) {
+        this.migrationBatchSize = migrationBatchSize;
+    }
+}
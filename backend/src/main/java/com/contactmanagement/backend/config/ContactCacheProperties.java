@@ -0,0 +1,48 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "contacts.cache")
+public class ContactCacheProperties {
+
+    private boolean enabled = true;
+    private long maxContacts = 10_000;
+    private long maxPages = 2_000;
+    private Duration ttl = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxContacts() {
+        return maxContacts;
+    }
+
+    public void setMaxContacts(long maxContacts) {
+        this.maxContacts = maxContacts;
+    }
+
+    public long getMaxPages() {
+        return maxPages;
+    }
+
+    public void setMaxPages(long maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
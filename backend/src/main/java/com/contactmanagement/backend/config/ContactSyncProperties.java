@@ -0,0 +1,30 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "contacts.sync")
+public class ContactSyncProperties {
+
+    private int maxChanges = 500;
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    public int getMaxChanges() {
+        return maxChanges;
+    }
+
+    public void setMaxChanges(int maxChanges) {
+        this.maxChanges = maxChanges;
+    }
+
+    public Duration getTombstoneRetention() {
+        return tombstoneRetention;
+    }
+
+    public void setTombstoneRetention(Duration tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+}
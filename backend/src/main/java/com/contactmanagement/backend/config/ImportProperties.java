@@ -0,0 +1,97 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "contacts.import")
+public class ImportProperties {
+
+    /** Where uploads are kept until their import job has finished. */
+    private String directory = "data/imports";
+    private int threads = 2;
+    private int queueCapacity = 16;
+    /** Jobs one user may have queued or running at once. */
+    private int maxActivePerUser = 2;
+    /** Names this instance on the jobs it accepts; blank uses the host name, which must then survive restarts. */
+    private String instanceId = "";
+    private int batchSize = 500;
+    /** Per-record errors kept per job; further bad records are only counted. */
+    private int maxErrors = 1000;
+    /** Threads parsing CSV chunks, shared by all jobs; 0 uses one per CPU. */
+    private int parseThreads = 0;
+    /** CSV rows handed to a parser thread at a time. */
+    private int chunkSize = 1000;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public int getParseThreads() {
+        return parseThreads;
+    }
+
+    public void setParseThreads(int parseThreads) {
+        this.parseThreads = parseThreads;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxActivePerUser() {
+        return maxActivePerUser;
+    }
+
+    public void setMaxActivePerUser(int maxActivePerUser) {
+        this.maxActivePerUser = maxActivePerUser;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+}
@@ -0,0 +1,104 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+    private int usernameCapacity = 5;
+    private int usernameRefillPerMinute = 5;
+    private int ipCapacity = 20;
+    private int ipRefillPerMinute = 20;
+    private int stripes = 64;
+    private int maxEntriesPerStripe = 2048;
+    private Duration idleTimeout = Duration.ofMinutes(15);
+    private boolean trustForwardedFor = false;
+    private List<String> trustedProxies = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getUsernameCapacity() {
+        return usernameCapacity;
+    }
+
+    public void setUsernameCapacity(int usernameCapacity) {
+        this.usernameCapacity = usernameCapacity;
+    }
+
+    public int getUsernameRefillPerMinute() {
+        return usernameRefillPerMinute;
+    }
+
+    public void setUsernameRefillPerMinute(int usernameRefillPerMinute) {
+        this.usernameRefillPerMinute = usernameRefillPerMinute;
+    }
+
+    public int getIpCapacity() {
+        return ipCapacity;
+    }
+
+    public void setIpCapacity(int ipCapacity) {
+        this.ipCapacity = ipCapacity;
+    }
+
+    public int getIpRefillPerMinute() {
+        return ipRefillPerMinute;
+    }
+
+    public void setIpRefillPerMinute(int ipRefillPerMinute) {
+        this.ipRefillPerMinute = ipRefillPerMinute;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public int getMaxEntriesPerStripe() {
+        return maxEntriesPerStripe;
+    }
+
+    public void setMaxEntriesPerStripe(int maxEntriesPerStripe) {
+        this.maxEntriesPerStripe = maxEntriesPerStripe;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+}
@@ -0,0 +1,66 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "contacts.search-index")
+public class SearchIndexProperties {
+
+    private boolean enabled = true;
+    private long maxContacts = 500_000;
+    private Duration idleTimeout = Duration.ofMinutes(30);
+    private int backfillBatchSize = 1000;
+    private int recentQueries = 8;
+    private Duration recentQueryTtl = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxContacts() {
+        return maxContacts;
+    }
+
+    public void setMaxContacts(long maxContacts) {
+        this.maxContacts = maxContacts;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    public void setBackfillBatchSize(int backfillBatchSize) {
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    public int getRecentQueries() {
+        return recentQueries;
+    }
+
+    public void setRecentQueries(int recentQueries) {
+        this.recentQueries = recentQueries;
+    }
+
+    public Duration getRecentQueryTtl() {
+        return recentQueryTtl;
+    }
+
+    public void setRecentQueryTtl(Duration recentQueryTtl) {
+        this.recentQueryTtl = recentQueryTtl;
+    }
+}
@@ -0,0 +1,28 @@
+package com.contactmanagement.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "security.token-revocation")
+public class TokenRevocationProperties {
+
+    private int expectedEntries = 100_000;
+    private double falsePositiveRate = 0.01;
+
+    public int getExpectedEntries() {
+        return expectedEntries;
+    }
+
+    public void setExpectedEntries(int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
@@ -2,7 +2,9 @@ package com.contactmanagement.backend.controller;
 
 import com.contactmanagement.backend.dto.*;
 import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.security.LoginRateLimiter;
 import com.contactmanagement.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,9 +26,11 @@ public class AuthController {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     private final UserService userService;
+    private final LoginRateLimiter loginRateLimiter;
     
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, LoginRateLimiter loginRateLimiter) {
         this.userService = userService;
+        this.loginRateLimiter = loginRateLimiter;
     }
     
     @PostMapping("/register")
@@ -41,8 +45,11 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
         logger.info("Login request received for username: {}", request.getUsername());
+        // Throttle before any user lookup or password hashing
+        loginRateLimiter.checkLoginAttempt(request.getUsername(), loginRateLimiter.resolveClientIp(httpRequest));
         LoginResponse response = userService.login(request);
         logger.info("Login successful for username: {}", request.getUsername());
         return ResponseEntity.ok(response);
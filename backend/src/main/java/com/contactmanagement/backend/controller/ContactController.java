@@ -1,7 +1,14 @@
 package com.contactmanagement.backend.controller;
 
+import com.contactmanagement.backend.dto.ContactChanges;
 import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSuggestionDTO;
+import com.contactmanagement.backend.dto.ContactSummaryDTO;
+import com.contactmanagement.backend.dto.CursorPage;
+import com.contactmanagement.backend.dto.SliceResponse;
+import com.contactmanagement.backend.service.ContactExportService;
 import com.contactmanagement.backend.service.ContactService;
+import com.contactmanagement.backend.util.VCards;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,16 +16,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * REST controller for contact management operations.
  * All endpoints require authentication via JWT token.
+ *
+ * Read endpoints carry ETags: lists use the user's contact-book version, single contacts
+ * their own version. A matching If-None-Match is answered with 304 before any contact row is read.
  */
 @RestController
 @RequestMapping("/api/contacts")
@@ -26,38 +46,152 @@ import java.util.Map;
 public class ContactController {
     
     private static final Logger logger = LoggerFactory.getLogger(ContactController.class);
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private final ContactService contactService;
+    private final ContactExportService contactExportService;
     
-    public ContactController(ContactService contactService) {
+    public ContactController(ContactService contactService, ContactExportService contactExportService) {
         this.contactService = contactService;
+        this.contactExportService = contactExportService;
     }
     
     @GetMapping
     public ResponseEntity<Page<ContactDTO>> getAllContacts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "firstName") String sortBy) {
+            @RequestParam(defaultValue = "firstName") String sortBy,
+            WebRequest request) {
         logger.debug("Fetching contacts - page: {}, size: {}, sortBy: {}", page, size, sortBy);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        Page<ContactDTO> contacts = contactService.getAllContacts(pageable);
+        return conditional(request, contactService.getContactsETag(), () -> contactService.getAllContacts(pageable));
+    }
+    
+    /**
+     * Slim list view: names, favorite flag and avatar URL, without images or child collections.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Page<ContactSummaryDTO>> getContactSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "firstName") String sortBy,
+            WebRequest request) {
+        logger.debug("Fetching contact summaries - page: {}, size: {}, sortBy: {}", page, size, sortBy);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+        return conditional(request, contactService.getContactsETag(), () -> contactService.getContactSummaries(pageable));
+    }
+    
+    /**
+     * Cursor-paginated listing for deep scrolling. Pass the returned nextCursor to get the following slice.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ContactDTO>> scrollContacts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "firstName") String sortBy) {
+        logger.debug("Scrolling contacts - size: {}, sortBy: {}", size, sortBy);
+        CursorPage<ContactDTO> contacts = contactService.scrollContacts(cursor, size, sortBy);
         return ResponseEntity.ok(contacts);
     }
     
+    /**
+     * Page of contacts with a hasNext flag instead of a total, so no COUNT query runs.
+     * includeCount=true adds totalElements from the cached per-user count.
+     */
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponse<ContactDTO>> getContactSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "firstName") String sortBy,
+            @RequestParam(defaultValue = "false") boolean includeCount,
+            WebRequest request) {
+        logger.debug("Fetching contact slice - page: {}, size: {}, sortBy: {}", page, size, sortBy);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+        return conditional(request, contactService.getContactsETag(),
+                () -> contactService.getContactSlice(pageable, includeCount));
+    }
+    
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Long>> countContacts() {
+        return ResponseEntity.ok(Map.of("count", contactService.countContacts()));
+    }
+    
+    /**
+     * Delta sync: contacts created, updated and deleted since the cursor of the previous call.
+     * Without {@code since} every contact is returned. 410 Gone means the cursor is too old
+     * and the client has to reload everything.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ContactChanges> getChanges(@RequestParam(required = false) String since) {
+        logger.debug("Fetching contact changes since: {}", since);
+        return ResponseEntity.ok(contactService.getChanges(since));
+    }
+    
+    /**
+     * Whole contact book as newline-delimited JSON, streamed as it is read.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportContacts() {
+        logger.info("Exporting contacts as NDJSON");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("contacts.ndjson").build().toString())
+                .body(contactExportService.exportNdjson());
+    }
+    
+    /**
+     * Whole contact book as vCard 4.0, streamed as it is read.
+     */
+    @GetMapping(value = "/export/vcard", produces = VCards.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportVCard() {
+        logger.info("Exporting contacts as vCard");
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "vcard", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("contacts.vcf").build().toString())
+                .body(contactExportService.exportVCard());
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<Page<ContactDTO>> searchContacts(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        logger.info("Searching contacts with query: {}", query);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        logger.info("Searching contacts with query: {}, fuzzy: {}", query, fuzzy);
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContactDTO> contacts = contactService.searchContacts(query, pageable);
+        Page<ContactDTO> contacts = fuzzy
+                ? contactService.fuzzySearchContacts(query, pageable)
+                : contactService.searchContacts(query, pageable);
         return ResponseEntity.ok(contacts);
     }
     
+    @GetMapping("/search/slice")
+    public ResponseEntity<SliceResponse<ContactDTO>> searchContactSlice(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        logger.info("Searching contact slice with query: {}", query);
+        Pageable pageable = PageRequest.of(page, size);
+        return ResponseEntity.ok(contactService.searchContactSlice(query, pageable));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ContactSuggestionDTO>> suggestContacts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        logger.debug("Suggesting contacts for prefix: {}", prefix);
+        return ResponseEntity.ok(contactService.suggestContacts(prefix, limit));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<ContactDTO> getContactById(@PathVariable Long id) {
-        ContactDTO contact = contactService.getContactById(id);
-        return ResponseEntity.ok(contact);
+    public ResponseEntity<ContactDTO> getContactById(@PathVariable Long id, WebRequest request) {
+        Optional<String> etag = contactService.findContactETag(id);
+        if (etag.isEmpty()) {
+            // Let the regular lookup produce the not-found or access-denied error
+            return ResponseEntity.ok(contactService.getContactById(id));
+        }
+        return conditional(request, etag.get(), () -> contactService.getContactById(id));
     }
     
     @PostMapping
@@ -93,4 +227,16 @@ public class ContactController {
         ContactDTO updated = contactService.toggleFavorite(id);
         return ResponseEntity.ok(updated);
     }
+    
+    /**
+     * 304 when the client already holds the representation tagged {@code etag}, otherwise the body.
+     * The tag is read before the body, so a write in between can only make the tag older than the
+     * body, which costs the client one extra full response but never a stale 304.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
 }
\ No newline at end of file
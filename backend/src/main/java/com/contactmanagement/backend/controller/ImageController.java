@@ -0,0 +1,57 @@
+package com.contactmanagement.backend.controller;
+
+import com.contactmanagement.backend.exception.ResourceNotFoundException;
+import com.contactmanagement.backend.service.ImageService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * Serves stored images by content hash.
+ *
+ * Public, since image URLs are used directly as img sources and a hash can only be
+ * learned from an authorized contact response. The content behind a hash never
+ * changes, so responses are cacheable forever. With {@code size}, the smallest thumbnail
+ * of at least that many pixels is served; while it is still being generated the original
+ * is served with a short cache lifetime instead.
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "*")
+public class ImageController {
+    
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl PENDING = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+    
+    private final ImageService imageService;
+    
+    public ImageController(ImageService imageService) {
+        this.imageService = imageService;
+    }
+    
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getImage(
+            @PathVariable String hash,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        ImageService.StoredImage image = imageService.find(hash, size)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found"));
+        String etag = "\"" + image.etag() + "\"";
+        CacheControl cacheControl = image.immutable() ? IMMUTABLE : PENDING;
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(image.mediaType()))
+                .body(new FileSystemResource(image.path()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.contactmanagement.backend.controller;
+
+import com.contactmanagement.backend.bulkimport.ImportJobService;
+import com.contactmanagement.backend.dto.ImportJobDTO;
+import com.contactmanagement.backend.entity.ImportJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Bulk contact imports. An upload returns 202 with a job right away; poll the job for progress.
+ */
+@RestController
+@RequestMapping("/api/contacts/import")
+@CrossOrigin(origins = "*")
+public class ImportController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ImportController.class);
+    private final ImportJobService importJobService;
+    
+    public ImportController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+    
+    @PostMapping(value = "/vcard", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importVCard(@RequestParam("file") MultipartFile file) {
+        logger.info("Importing vCard file {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit(ImportJob.Format.VCARD, file));
+    }
+    
+    /**
+     * CSV with a header row naming the columns; see backend/README.md for the recognized ones.
+     */
+    @PostMapping(value = "/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importCsv(@RequestParam("file") MultipartFile file) {
+        logger.info("Importing CSV file {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit(ImportJob.Format.CSV, file));
+    }
+    
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+}
@@ -47,13 +47,24 @@ public class UserController {
     public ResponseEntity<Map<String, String>> changePassword(
             @Valid @RequestBody ChangePasswordRequest request) {
         logger.info("Password change request received");
-        userService.changePassword(request);
+        String token = userService.changePassword(request);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Password changed successfully");
+        // Older tokens are no longer valid; the client should switch to this one
+        response.put("token", token);
         logger.info("Password changed successfully");
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout() {
+        logger.info("Logout request received");
+        userService.logout();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/account")
     public ResponseEntity<Map<String, String>> deleteAccount() {
         logger.warn("Account deletion request received");
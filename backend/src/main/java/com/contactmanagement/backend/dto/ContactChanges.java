@@ -0,0 +1,20 @@
+package com.contactmanagement.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Contacts created or changed and ids of contacts deleted since a sync cursor.
+ * Pass {@code cursor} back as {@code since} on the next call; while {@code hasMore} is true,
+ * more changes are waiting and can be fetched right away.
+ */
+@Data
+@AllArgsConstructor
+public class ContactChanges {
+    private List<ContactDTO> upserts;
+    private List<Long> deletions;
+    private String cursor;
+    private boolean hasMore;
+}
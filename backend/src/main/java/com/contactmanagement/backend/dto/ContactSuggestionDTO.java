@@ -0,0 +1,17 @@
+package com.contactmanagement.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One typeahead suggestion: enough to show the name and open the contact.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactSuggestionDTO {
+    private Long id;
+    private String displayName;
+    private Boolean isFavorite;
+}
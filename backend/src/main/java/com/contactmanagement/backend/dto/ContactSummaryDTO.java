@@ -0,0 +1,17 @@
+package com.contactmanagement.backend.dto;
+
+import lombok.Data;
+
+/**
+ * Lightweight contact for list views: no image bytes and no child collections.
+ * {@code avatarUrl} is null when the contact has no profile image.
+ */
+@Data
+public class ContactSummaryDTO {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String title;
+    private Boolean isFavorite;
+    private String avatarUrl;
+}
@@ -0,0 +1,18 @@
+package com.contactmanagement.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor-paginated listing.
+ * {@code nextCursor} is opaque to clients and is null on the last slice; no total count is computed.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
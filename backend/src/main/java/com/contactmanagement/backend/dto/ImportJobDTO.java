@@ -0,0 +1,42 @@
+package com.contactmanagement.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Status of a background import. {@code progress} is the share of the uploaded file read so far,
+ * 0-100; {@code recordsPerSecond} the average since the job started; {@code errors} lists the
+ * first skipped records by line number.
+ */
+@Data
+@NoArgsConstructor
+public class ImportJobDTO {
+    private Long id;
+    private String format;
+    private String status;
+    private String fileName;
+    private long totalBytes;
+    private long bytesRead;
+    private int progress;
+    private long recordsProcessed;
+    private long contactsImported;
+    private long recordsFailed;
+    private Long recordsPerSecond;
+    private String message;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<RecordError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.contactmanagement.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of results without a total count; {@code hasNext} tells whether another page follows.
+ * {@code totalElements} is only present when explicitly requested and served from a cache.
+ */
+@Data
+@AllArgsConstructor
+public class SliceResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
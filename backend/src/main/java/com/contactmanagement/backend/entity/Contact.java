@@ -4,12 +4,24 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.contactmanagement.backend.util.SearchKeys;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.lang.NonNull;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "contacts")
+@Table(name = "contacts", indexes = {
+        // Keyset pagination seeks on (sort key, id) within one user's contacts
+        @Index(name = "ix_contacts_user_first_name", columnList = "user_id, first_name, id"),
+        @Index(name = "ix_contacts_user_last_name", columnList = "user_id, last_name, id"),
+        // Delta sync reads a user's contacts in change order
+        @Index(name = "ix_contacts_user_change_seq", columnList = "user_id, change_seq"),
+        // Search: prefix LIKE on the normalized keys is a range scan within one user's contacts
+        @Index(name = "ix_contacts_user_name_key", columnList = "user_id, name_key"),
+        @Index(name = "ix_contacts_user_last_name_key", columnList = "user_id, last_name_key"),
+        @Index(name = "ix_contacts_user_title_key", columnList = "user_id, title_key")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,24 +41,87 @@ public class Contact {
     @Column(name = "title")
     private String title;
 
-    @OneToMany(mappedBy = "contact", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Search keys, see SearchKeys; kept in step by the setters of the fields they derive from
+
+    /** Lower-cased "first last", so first-name and full-name prefixes both match. */
+    @Column(name = "name_key")
+    private String nameKey;
+
+    @Column(name = "last_name_key")
+    private String lastNameKey;
+
+    @Column(name = "title_key")
+    private String titleKey;
+
+    @OneToMany(mappedBy = "contact", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PhoneNumber> phoneNumbers = new ArrayList<>();
 
-    @OneToMany(mappedBy = "contact", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "contact", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<EmailAddress> emailAddresses = new ArrayList<>();
 
-    @Column(name = "profile_image", columnDefinition = "TEXT")
-    private String profileImage;
+    /** SHA-256 of the profile image in the blob store; the image itself lives outside this row. */
+    @Column(name = "profile_image_hash", length = 64)
+    private String profileImageHash;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     @CollectionTable(name = "contact_tags", joinColumns = @JoinColumn(name = "contact_id"))
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
 
+    /** Lower-cased tags, in a table of their own so they can be indexed. */
+    @ElementCollection
+    @CollectionTable(name = "contact_tag_keys", joinColumns = @JoinColumn(name = "contact_id"),
+            indexes = @Index(name = "ix_contact_tag_keys_tag_key", columnList = "tag_key"))
+    @Column(name = "tag_key")
+    private List<String> tagKeys = new ArrayList<>();
+
     @Column(name = "is_favorite")
     private Boolean isFavorite = false;
 
+    /** Optimistic lock version; also the ETag of the single-contact representation. */
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    /** Contact-book version of the user at the last write to this contact; 0 for contacts never written since. */
+    @Column(name = "change_seq", nullable = false)
+    @ColumnDefault("0")
+    private long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
-}
\ No newline at end of file
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+        this.nameKey = SearchKeys.name(firstName, lastName);
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+        this.nameKey = SearchKeys.name(firstName, lastName);
+        this.lastNameKey = SearchKeys.text(lastName);
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleKey = SearchKeys.text(title);
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+        this.tagKeys = tagKeysOf(tags);
+    }
+
+    /**
+     * Distinct search keys of a contact's tags.
+     */
+    public static List<String> tagKeysOf(List<String> tags) {
+        List<String> keys = new ArrayList<>();
+        if (tags != null) {
+            tags.stream().map(SearchKeys::text).filter(key -> !keys.contains(key)).forEach(keys::add);
+        }
+        return keys;
+    }
+}
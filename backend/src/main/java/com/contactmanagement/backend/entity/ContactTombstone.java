@@ -0,0 +1,41 @@
+package com.contactmanagement.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+
+import java.time.Instant;
+
+/**
+ * Record of a deleted contact, so delta sync can tell clients to drop it.
+ * Kept for {@code contacts.sync.tombstone-retention}; older cursors must resync from scratch.
+ */
+@Entity
+@Table(name = "contact_tombstones", indexes = {
+        @Index(name = "ix_contact_tombstones_user_change_seq", columnList = "user_id, change_seq"),
+        @Index(name = "ix_contact_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @NonNull
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "contact_id", nullable = false)
+    private Long contactId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
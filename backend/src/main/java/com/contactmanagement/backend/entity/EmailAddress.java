@@ -1,6 +1,7 @@
 package com.contactmanagement.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.contactmanagement.backend.util.SearchKeys;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.lang.NonNull;
 
 @Entity
-@Table(name = "email_addresses")
+@Table(name = "email_addresses", indexes = @Index(name = "ix_email_addresses_email_key", columnList = "email_key"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +23,10 @@ public class EmailAddress {
     @Column(name = "email", nullable = false)
     private String email;
 
+    /** Lower-cased address, for search; see SearchKeys. */
+    @Column(name = "email_key")
+    private String emailKey;
+
     @Column(name = "label")
     private String label;
 
@@ -29,4 +34,9 @@ public class EmailAddress {
     @JoinColumn(name = "contact_id")
     @JsonIgnore
     private Contact contact;
-}
\ No newline at end of file
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailKey = SearchKeys.text(email);
+    }
+}
@@ -0,0 +1,90 @@
+package com.contactmanagement.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.lang.NonNull;
+
+import java.time.Instant;
+
+/**
+ * Background import of an uploaded contact file. Counters and the resume position are updated in
+ * the same transaction as each batch of inserted contacts, so they always match what has been committed.
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "ix_import_jobs_instance_status", columnList = "instance_id, status"),
+        @Index(name = "ix_import_jobs_user_status", columnList = "user_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    public enum Format { VCARD, CSV }
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @NonNull
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Instance that accepted the upload; only it resumes the job after a restart. */
+    @Column(name = "instance_id", length = 64)
+    private String instanceId;
+
+    /** Plain varchar rather than a native enum or check constraint, so formats can be added without a migration. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, columnDefinition = "varchar(16)")
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "varchar(16)")
+    private Status status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "total_bytes", nullable = false)
+    private long totalBytes;
+
+    /**
+     * Bytes and lines of the file behind the last committed record: the job's progress, and
+     * where it continues after a restart.
+     */
+    @Column(name = "bytes_read", nullable = false)
+    private long bytesRead;
+
+    @Column(name = "lines_read", nullable = false)
+    @ColumnDefault("0")
+    private long linesRead;
+
+    /** Records (cards or rows) read so far, valid or not. */
+    @Column(name = "records_processed", nullable = false)
+    private long recordsProcessed;
+
+    @Column(name = "contacts_imported", nullable = false)
+    private long contactsImported;
+
+    @Column(name = "records_failed", nullable = false)
+    private long recordsFailed;
+
+    /** Why the job failed as a whole; per-record problems are {@link ImportJobError}s. */
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
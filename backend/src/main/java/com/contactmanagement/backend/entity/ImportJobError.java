@@ -0,0 +1,34 @@
+package com.contactmanagement.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+
+/**
+ * A record of an import file that was skipped, with the line it starts on.
+ */
+@Entity
+@Table(name = "import_job_errors", indexes = {
+        @Index(name = "ix_import_job_errors_job_line", columnList = "job_id, line_number")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @NonNull
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(name = "message", nullable = false, length = 500)
+    private String message;
+}
@@ -1,6 +1,7 @@
 package com.contactmanagement.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.contactmanagement.backend.util.SearchKeys;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.lang.NonNull;
 
 @Entity
-@Table(name = "phone_numbers")
+@Table(name = "phone_numbers", indexes = @Index(name = "ix_phone_numbers_phone_digits", columnList = "phone_digits"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +23,10 @@ public class PhoneNumber {
     @Column(name = "phone", nullable = false)
     private String phone;
 
+    /** Digits only, for search; see SearchKeys. */
+    @Column(name = "phone_digits")
+    private String phoneDigits;
+
     @Column(name = "label")
     private String label;
 
@@ -29,4 +34,9 @@ public class PhoneNumber {
     @JoinColumn(name = "contact_id")
     @JsonIgnore
     private Contact contact;
-}
\ No newline at end of file
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+        this.phoneDigits = SearchKeys.phone(phone);
+    }
+}
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.lang.NonNull;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_users_email", columnNames = "email"),
+        @UniqueConstraint(name = "ux_users_phone_number", columnNames = "phone_number")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,10 +24,10 @@ public class User {
     @NonNull
     private Long id;
 
-    @Column(name = "email", unique = true)
+    @Column(name = "email")
     private String email;
 
-    @Column(name = "phone_number", unique = true)
+    @Column(name = "phone_number")
     private String phoneNumber;
 
     @Column(name = "password", nullable = false)
@@ -35,6 +39,19 @@ public class User {
     @Column(name = "last_name")
     private String lastName;
 
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private Integer tokenVersion = 0;
+
+    /**
+     * Bumped by every write to this user's contacts; drives the ETag of contact lists.
+     * Only ever changed by those UPDATE statements, so saving a user loaded earlier cannot
+     * write back a stale value; read it with {@code UserRepository.findContactsVersionById}.
+     */
+    @Column(name = "contacts_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long contactsVersion = 0L;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Contact> contacts = new ArrayList<>();
 }
\ No newline at end of file
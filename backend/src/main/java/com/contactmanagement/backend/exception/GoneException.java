@@ -0,0 +1,7 @@
+package com.contactmanagement.backend.exception;
+
+public class GoneException extends RuntimeException {
+    public GoneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,167 @@
+package com.contactmanagement.backend.migration;
+
+import com.contactmanagement.backend.config.BlobStorageProperties;
+import com.contactmanagement.backend.exception.BadRequestException;
+import com.contactmanagement.backend.service.ImageService;
+import com.contactmanagement.backend.util.DataUrls;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves legacy base64 profile images from {@code contacts.profile_image} into the blob store.
+ *
+ * Runs at startup and does nothing once the column is gone or empty. Rows are read in id order,
+ * a batch at a time, and each batch is written back in its own transaction: the hash is set and
+ * the TEXT value cleared. Values that are not valid images are left in place and reported.
+ *
+ * A moved image gets a new URL, so every migrated contact is written like any other edit: its
+ * version is bumped for its ETag, and it takes a change sequence number from a block reserved on
+ * its owner's contacts version, so delta sync and the list ETag pick it up.
+ */
+@Component
+public class ProfileImageMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileImageMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageService imageService;
+    private final int batchSize;
+
+    public ProfileImageMigration(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                 ImageService imageService, BlobStorageProperties properties) {
+        this.batchSize = properties.getMigrationBatchSize();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setMaxRows(batchSize);
+        this.jdbcTemplate.setFetchSize(batchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.imageService = imageService;
+    }
+
+    private record LegacyImage(long id, long userId, String value) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!legacyColumnExists()) {
+            return;
+        }
+
+        long lastId = 0;
+        int migrated = 0;
+        int skipped = 0;
+        while (true) {
+            List<LegacyImage> batch = jdbcTemplate.query(
+                    "SELECT id, user_id, profile_image FROM contacts " +
+                    "WHERE profile_image IS NOT NULL AND profile_image_hash IS NULL AND id > ? ORDER BY id",
+                    (rs, rowNum) -> new LegacyImage(rs.getLong("id"), rs.getLong("user_id"), rs.getString("profile_image")),
+                    lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).id();
+
+            // Owner id to the moved images of that user's contacts, owners in id order
+            Map<Long, List<Object[]>> moved = new TreeMap<>();
+            for (LegacyImage image : batch) {
+                String hash = toHash(image);
+                if (hash != null) {
+                    moved.computeIfAbsent(image.userId(), id -> new ArrayList<>()).add(new Object[]{hash, image.id()});
+                } else {
+                    skipped++;
+                }
+            }
+            if (!moved.isEmpty()) {
+                migrated += transactionTemplate.execute(status -> writeBatch(moved));
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (migrated > 0 || skipped > 0) {
+            logger.info("Profile image migration: {} moved to blob store, {} left in place", migrated, skipped);
+        }
+    }
+
+    /**
+     * Store the hashes, stamping each user's updated contacts with a block of change sequence numbers.
+     *
+     * The owner's row is locked first, in the same order as contact writes, and a contact that got
+     * a new image since it was read is left alone; only the rows actually moved take a number.
+     */
+    int writeBatch(Map<Long, List<Object[]>> moved) {
+        int written = 0;
+        for (Map.Entry<Long, List<Object[]>> owner : moved.entrySet()) {
+            Long userId = owner.getKey();
+            jdbcTemplate.update("UPDATE users SET contacts_version = contacts_version WHERE id = ?", userId);
+            List<Object[]> images = owner.getValue();
+            int[] counts = jdbcTemplate.batchUpdate("UPDATE contacts SET profile_image_hash = ?, profile_image = NULL, " +
+                    "version = version + 1 WHERE id = ? AND profile_image_hash IS NULL", images);
+            List<Object> updatedIds = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    updatedIds.add(images.get(i)[1]);
+                }
+            }
+            if (updatedIds.isEmpty()) {
+                continue;
+            }
+            jdbcTemplate.update("UPDATE users SET contacts_version = contacts_version + ? WHERE id = ?",
+                    updatedIds.size(), userId);
+            Long last = jdbcTemplate.queryForObject("SELECT contacts_version FROM users WHERE id = ?", Long.class, userId);
+            long changeSeq = last - updatedIds.size() + 1;
+            List<Object[]> stamps = new ArrayList<>();
+            for (Object id : updatedIds) {
+                stamps.add(new Object[]{changeSeq++, id});
+            }
+            jdbcTemplate.batchUpdate("UPDATE contacts SET change_seq = ? WHERE id = ?", stamps);
+            written += updatedIds.size();
+        }
+        return written;
+    }
+
+    private String toHash(LegacyImage image) {
+        DataUrls.Decoded decoded = DataUrls.decode(image.value());
+        if (decoded == null) {
+            logger.warn("Contact {} has a profile image that is not a base64 data URL, skipping", image.id());
+            return null;
+        }
+        try {
+            return imageService.store(decoded.bytes());
+        } catch (BadRequestException e) {
+            logger.warn("Contact {} profile image rejected: {}", image.id(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean legacyColumnExists() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String[] names : new String[][]{{"contacts", "profile_image"}, {"CONTACTS", "PROFILE_IMAGE"}}) {
+                try (ResultSet columns = metaData.getColumns(null, null, names[0], names[1])) {
+                    if (columns.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
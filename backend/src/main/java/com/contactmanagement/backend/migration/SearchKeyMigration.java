@@ -0,0 +1,142 @@
+package com.contactmanagement.backend.migration;
+
+import com.contactmanagement.backend.config.SearchIndexProperties;
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.util.SearchKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the search key columns of contacts, emails, phone numbers and tags written before they
+ * existed. New and edited rows get their keys from the entities and the import writer.
+ *
+ * Runs at startup and does nothing once no key is missing. Rows are read in id order, a batch at
+ * a time, and each batch is written in its own transaction. Updates only touch rows whose key is
+ * still missing, so a row edited while the migration runs keeps the keys of its new values.
+ */
+@Component
+public class SearchKeyMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchKeyMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    /** Same connection source, returning at most one batch of rows per query. */
+    private final JdbcTemplate batchTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SearchKeyMigration(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              SearchIndexProperties properties) {
+        this.batchSize = properties.getBackfillBatchSize();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchTemplate = new JdbcTemplate(dataSource);
+        this.batchTemplate.setMaxRows(batchSize);
+        this.batchTemplate.setFetchSize(batchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int contacts = backfill(
+                "SELECT id, first_name, last_name, title FROM contacts WHERE name_key IS NULL AND id > ? ORDER BY id",
+                (rs, rowNum) -> new Object[]{
+                        SearchKeys.name(rs.getString("first_name"), rs.getString("last_name")),
+                        SearchKeys.text(rs.getString("last_name")),
+                        SearchKeys.text(rs.getString("title")),
+                        rs.getLong("id")},
+                "UPDATE contacts SET name_key = ?, last_name_key = ?, title_key = ? WHERE id = ? AND name_key IS NULL");
+        int emails = backfill(
+                "SELECT id, email FROM email_addresses WHERE email_key IS NULL AND id > ? ORDER BY id",
+                (rs, rowNum) -> new Object[]{SearchKeys.text(rs.getString("email")), rs.getLong("id")},
+                "UPDATE email_addresses SET email_key = ? WHERE id = ? AND email_key IS NULL");
+        int phones = backfill(
+                "SELECT id, phone FROM phone_numbers WHERE phone_digits IS NULL AND id > ? ORDER BY id",
+                (rs, rowNum) -> new Object[]{SearchKeys.phone(rs.getString("phone")), rs.getLong("id")},
+                "UPDATE phone_numbers SET phone_digits = ? WHERE id = ? AND phone_digits IS NULL");
+        int tagged = backfillTagKeys();
+
+        if (contacts > 0 || emails > 0 || phones > 0 || tagged > 0) {
+            logger.info("Search key migration: {} contacts, {} emails, {} phone numbers, {} tagged contacts",
+                    contacts, emails, phones, tagged);
+        }
+    }
+
+    /**
+     * Update rows in batches of the select, which takes the last id seen; the mapper returns the
+     * update arguments with the row id last.
+     */
+    private int backfill(String select, RowMapper<Object[]> mapper, String update) {
+        long lastId = 0;
+        int updated = 0;
+        while (true) {
+            List<Object[]> batch = batchTemplate.query(select, mapper, lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Object[] last = batch.get(batch.size() - 1);
+            lastId = (Long) last[last.length - 1];
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(update, batch));
+            updated += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Tag keys live in their own table, so a contact is missing them if it has tags but no keys.
+     * Contacts are taken a batch of ids at a time and all their tags read by id range.
+     */
+    private int backfillTagKeys() {
+        String missing = "FROM contact_tags t WHERE NOT EXISTS " +
+                "(SELECT 1 FROM contact_tag_keys k WHERE k.contact_id = t.contact_id) ";
+        long lastId = 0;
+        int updated = 0;
+        while (true) {
+            List<Long> contactIds = batchTemplate.queryForList(
+                    "SELECT DISTINCT t.contact_id " + missing + "AND t.contact_id > ? ORDER BY t.contact_id",
+                    Long.class, lastId);
+            if (contactIds.isEmpty()) {
+                break;
+            }
+            long first = contactIds.get(0);
+            lastId = contactIds.get(contactIds.size() - 1);
+
+            Map<Long, List<String>> tags = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT t.contact_id, t.tag " + missing + "AND t.contact_id BETWEEN ? AND ?",
+                    rs -> {
+                        tags.computeIfAbsent(rs.getLong("contact_id"), id -> new ArrayList<>()).add(rs.getString("tag"));
+                    }, first, lastId);
+            long from = first;
+            long to = lastId;
+            transactionTemplate.executeWithoutResult(status -> {
+                // Skip contacts that got keys from an edit since they were read
+                jdbcTemplate.queryForList("SELECT DISTINCT contact_id FROM contact_tag_keys WHERE contact_id BETWEEN ? AND ?",
+                        Long.class, from, to).forEach(tags::remove);
+                List<Object[]> rows = new ArrayList<>();
+                tags.forEach((contactId, values) -> Contact.tagKeysOf(values)
+                        .forEach(key -> rows.add(new Object[]{contactId, key})));
+                jdbcTemplate.batchUpdate("INSERT INTO contact_tag_keys (contact_id, tag_key) VALUES (?, ?)", rows);
+            });
+            updated += tags.size();
+            if (contactIds.size() < batchSize) {
+                break;
+            }
+        }
+        return updated;
+    }
+}
@@ -1,22 +1,166 @@
 package com.contactmanagement.backend.repository;
 
 import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.repository.projection.ChangeKey;
+import com.contactmanagement.backend.repository.projection.ContactRow;
+import com.contactmanagement.backend.repository.projection.ContactSummaryRow;
+import com.contactmanagement.backend.repository.projection.EmailRow;
+import com.contactmanagement.backend.repository.projection.PhoneRow;
+import com.contactmanagement.backend.repository.projection.TagRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Contact persistence.
+ *
+ * List endpoints read through projections: a page of {@link ContactRow}s, then one flat row query
+ * per child collection covering every contact on the page. No managed entities are created and the
+ * statement count does not depend on page size.
+ */
 @Repository
 public interface ContactRepository extends JpaRepository<Contact, Long> {
     
-    Page<Contact> findByUserId(Long userId, Pageable pageable);
+    String CONTACT_ROW = "SELECT new com.contactmanagement.backend.repository.projection.ContactRow(" +
+            "c.id, c.firstName, c.lastName, c.title, c.profileImageHash, c.isFavorite) FROM Contact c ";
+    
+    /**
+     * Prefix match on the normalized search keys (see SearchKeys): full name, last name, title,
+     * emails and tags by {@code :prefix}, phone digits by {@code :digitsPrefix}, which is null for
+     * queries that do not look like a phone number. Each branch is a range scan on an index.
+     */
+    String SEARCH_CONDITION = "WHERE c.user.id = :userId AND (" +
+            "c.nameKey LIKE :prefix ESCAPE '\\' OR c.lastNameKey LIKE :prefix ESCAPE '\\' OR " +
+            "c.titleKey LIKE :prefix ESCAPE '\\' OR " +
+            "c.id IN (SELECT e.contact.id FROM EmailAddress e WHERE e.emailKey LIKE :prefix ESCAPE '\\') OR " +
+            "c.id IN (SELECT p.contact.id FROM PhoneNumber p WHERE p.phoneDigits LIKE :digitsPrefix) OR " +
+            "c.id IN (SELECT t.id FROM Contact t JOIN t.tagKeys k WHERE k LIKE :prefix ESCAPE '\\'))";
+    
+    @Query(value = CONTACT_ROW + "WHERE c.user.id = :userId",
+           countQuery = "SELECT COUNT(c) FROM Contact c WHERE c.user.id = :userId")
+    Page<ContactRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(value = CONTACT_ROW + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(c) FROM Contact c " + SEARCH_CONDITION)
+    Page<ContactRow> searchContactRows(@Param("userId") Long userId, 
+                                       @Param("prefix") String prefix, 
+                                       @Param("digitsPrefix") String digitsPrefix,
+                                       Pageable pageable);
+    
+    // Slice variants: fetch one extra row to know whether more follow, and never count
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId")
+    Slice<ContactRow> findRowSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(CONTACT_ROW + SEARCH_CONDITION)
+    Slice<ContactRow> searchContactRowSlice(@Param("userId") Long userId,
+                                            @Param("prefix") String prefix,
+                                            @Param("digitsPrefix") String digitsPrefix,
+                                            Pageable pageable);
+    
+    long countByUserId(Long userId);
+    
+    /**
+     * Load a contact for an update and bump its version at flush even if only its phone
+     * numbers or emails change; those rows are owned by the child side and would not bump it.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Contact c WHERE c.id = :id")
+    Optional<Contact> findForUpdateById(@Param("id") Long id);
+    
+    // Delta sync: contacts written after a (change sequence, id) position, in that order.
+    // Contacts not written since change tracking began all carry sequence 0, so the id breaks ties.
+    
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.ChangeKey(c.changeSeq, c.id) " +
+           "FROM Contact c WHERE c.user.id = :userId " +
+           "AND (c.changeSeq > :sinceSeq OR (c.changeSeq = :sinceSeq AND c.id > :sinceId)) " +
+           "ORDER BY c.changeSeq, c.id")
+    List<ChangeKey> findChangeKeysAfter(@Param("userId") Long userId,
+                                        @Param("sinceSeq") long sinceSeq,
+                                        @Param("sinceId") long sinceId,
+                                        Limit limit);
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId " +
+           "AND (c.changeSeq > :sinceSeq OR (c.changeSeq = :sinceSeq AND c.id > :sinceId)) " +
+           "AND (c.changeSeq < :untilSeq OR (c.changeSeq = :untilSeq AND c.id <= :untilId)) " +
+           "ORDER BY c.changeSeq, c.id")
+    List<ContactRow> findRowsChangedBetween(@Param("userId") Long userId,
+                                            @Param("sinceSeq") long sinceSeq,
+                                            @Param("sinceId") long sinceId,
+                                            @Param("untilSeq") long untilSeq,
+                                            @Param("untilId") long untilId);
+    
+    @Query("SELECT c.version FROM Contact c WHERE c.id = :id AND c.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Query(value = "SELECT new com.contactmanagement.backend.repository.projection.ContactSummaryRow(" +
+                   "c.id, c.firstName, c.lastName, c.title, c.isFavorite, c.profileImageHash) " +
+                   "FROM Contact c WHERE c.user.id = :userId",
+           countQuery = "SELECT COUNT(c) FROM Contact c WHERE c.user.id = :userId")
+    Page<ContactSummaryRow> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    // Keyset pagination: seek past the last (sort key, id) served, no OFFSET and no count
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId ORDER BY c.firstName, c.id")
+    List<ContactRow> findFirstRowsByFirstName(@Param("userId") Long userId, Limit limit);
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId AND " +
+           "(c.firstName > :firstName OR (c.firstName = :firstName AND c.id > :id)) ORDER BY c.firstName, c.id")
+    List<ContactRow> findRowsAfterFirstName(@Param("userId") Long userId,
+                                            @Param("firstName") String firstName,
+                                            @Param("id") Long id,
+                                            Limit limit);
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId ORDER BY c.lastName, c.id")
+    List<ContactRow> findFirstRowsByLastName(@Param("userId") Long userId, Limit limit);
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId AND " +
+           "(c.lastName > :lastName OR (c.lastName = :lastName AND c.id > :id)) ORDER BY c.lastName, c.id")
+    List<ContactRow> findRowsAfterLastName(@Param("userId") Long userId,
+                                           @Param("lastName") String lastName,
+                                           @Param("id") Long id,
+                                           Limit limit);
+    
+    // Search index: a user's whole contact book as flat rows to build from, and the matches to hydrate
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId")
+    List<ContactRow> findAllRowsByUserId(@Param("userId") Long userId);
+    
+    @Query(CONTACT_ROW + "WHERE c.user.id = :userId AND c.id IN :ids")
+    List<ContactRow> findRowsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.PhoneRow(" +
+           "p.contact.id, p.id, p.phone, p.label) FROM PhoneNumber p WHERE p.contact.user.id = :userId")
+    List<PhoneRow> findPhoneRowsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.EmailRow(" +
+           "e.contact.id, e.id, e.email, e.label) FROM EmailAddress e WHERE e.contact.user.id = :userId")
+    List<EmailRow> findEmailRowsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.TagRow(c.id, t) " +
+           "FROM Contact c JOIN c.tags t WHERE c.user.id = :userId")
+    List<TagRow> findTagRowsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.PhoneRow(" +
+           "p.contact.id, p.id, p.phone, p.label) FROM PhoneNumber p WHERE p.contact.id IN :contactIds ORDER BY p.id")
+    List<PhoneRow> findPhoneRowsByContactIdIn(@Param("contactIds") Collection<Long> contactIds);
+    
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.EmailRow(" +
+           "e.contact.id, e.id, e.email, e.label) FROM EmailAddress e WHERE e.contact.id IN :contactIds ORDER BY e.id")
+    List<EmailRow> findEmailRowsByContactIdIn(@Param("contactIds") Collection<Long> contactIds);
     
-    @Query("SELECT c FROM Contact c WHERE c.user.id = :userId AND " +
-           "(LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Contact> searchContacts(@Param("userId") Long userId, 
-                                  @Param("search") String search, 
-                                  Pageable pageable);
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.TagRow(c.id, t) " +
+           "FROM Contact c JOIN c.tags t WHERE c.id IN :contactIds")
+    List<TagRow> findTagRowsByContactIdIn(@Param("contactIds") Collection<Long> contactIds);
 }
@@ -0,0 +1,25 @@
+package com.contactmanagement.backend.repository;
+
+import com.contactmanagement.backend.entity.ContactTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ContactTombstoneRepository extends JpaRepository<ContactTombstone, Long> {
+
+    @Query("SELECT t.contactId FROM ContactTombstone t " +
+           "WHERE t.userId = :userId AND t.changeSeq > :since AND t.changeSeq <= :until ORDER BY t.changeSeq")
+    List<Long> findContactIdsDeletedBetween(@Param("userId") Long userId,
+                                            @Param("since") long since,
+                                            @Param("until") long until);
+
+    @Modifying
+    @Query("DELETE FROM ContactTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,14 @@
+package com.contactmanagement.backend.repository;
+
+import com.contactmanagement.backend.entity.ImportJobError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findByJobIdOrderByLineNumber(Long jobId, Limit limit);
+}
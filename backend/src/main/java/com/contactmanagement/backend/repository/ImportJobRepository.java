@@ -0,0 +1,33 @@
+package com.contactmanagement.backend.repository;
+
+import com.contactmanagement.backend.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ImportJob> findByInstanceIdAndStatusIn(String instanceId, Collection<ImportJob.Status> statuses);
+
+    List<ImportJob> findByInstanceIdIsNullAndStatusIn(Collection<ImportJob.Status> statuses);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<ImportJob.Status> statuses);
+
+    /**
+     * Take over a job no instance owns yet; returns 0 if another instance claimed it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.instanceId = :instanceId WHERE j.id = :id AND j.instanceId IS NULL")
+    int claim(@Param("id") Long id, @Param("instanceId") String instanceId);
+}
@@ -1,10 +1,18 @@
 package com.contactmanagement.backend.repository;
 
 import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.projection.UserIdentifiers;
+import com.contactmanagement.backend.util.PhoneNumbers;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +21,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByPhoneNumber(String phoneNumber);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+
+    Optional<User> findFirstByEmailOrPhoneNumberIn(String email, Collection<String> phoneNumbers);
+
+    /**
+     * Resolve a login identifier (email or phone number) in a single query.
+     * Identifiers without '@' are also matched as normalized phone numbers; the raw form
+     * is kept in the match so accounts stored before normalization still resolve.
+     */
+    default Optional<User> findByIdentifier(String identifier) {
+        String phoneNumber = identifier.indexOf('@') >= 0 ? null : PhoneNumbers.normalize(identifier);
+        Set<String> phoneNumbers = phoneNumber == null || phoneNumber.equals(identifier)
+                ? Set.of(identifier)
+                : Set.of(identifier, phoneNumber);
+        return findFirstByEmailOrPhoneNumberIn(identifier, phoneNumbers);
+    }
+
+    @Query("SELECT u.contactsVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findContactsVersionById(@Param("userId") Long userId);
+
+    /**
+     * Increment in the database rather than read-modify-write: the row lock taken here orders
+     * concurrent writers of the same user, so every committed write gets a distinct version.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.contactsVersion = u.contactsVersion + 1 WHERE u.id = :userId")
+    int incrementContactsVersion(@Param("userId") Long userId);
+
+    @Query("SELECT new com.contactmanagement.backend.repository.projection.UserIdentifiers(u.email, u.phoneNumber) " +
+           "FROM User u WHERE u.email = :email OR u.phoneNumber = :phoneNumber")
+    List<UserIdentifiers> findIdentifiersByEmailOrPhoneNumber(@Param("email") String email,
+                                                              @Param("phoneNumber") String phoneNumber);
+}
@@ -0,0 +1,7 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * Position of a contact in delta sync order: its change sequence, then its id.
+ */
+public record ChangeKey(long changeSeq, Long id) {
+}
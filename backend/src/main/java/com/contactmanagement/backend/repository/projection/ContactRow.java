@@ -0,0 +1,8 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * Scalar columns of a contact, selected directly for read-only list queries.
+ */
+public record ContactRow(Long id, String firstName, String lastName, String title,
+                         String profileImageHash, Boolean isFavorite) {
+}
@@ -0,0 +1,8 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * List-view columns of a contact.
+ */
+public record ContactSummaryRow(Long id, String firstName, String lastName, String title,
+                                Boolean isFavorite, String profileImageHash) {
+}
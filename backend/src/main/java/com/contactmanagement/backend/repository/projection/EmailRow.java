@@ -0,0 +1,7 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * One email address of a contact, keyed by the owning contact id.
+ */
+public record EmailRow(Long contactId, Long id, String email, String label) {
+}
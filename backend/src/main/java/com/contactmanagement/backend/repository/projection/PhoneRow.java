@@ -0,0 +1,7 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * One phone number of a contact, keyed by the owning contact id.
+ */
+public record PhoneRow(Long contactId, Long id, String phone, String label) {
+}
@@ -0,0 +1,7 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * One tag of a contact, keyed by the owning contact id.
+ */
+public record TagRow(Long contactId, String tag) {
+}
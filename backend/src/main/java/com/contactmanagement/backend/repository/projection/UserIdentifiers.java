@@ -0,0 +1,7 @@
+package com.contactmanagement.backend.repository.projection;
+
+/**
+ * Login identifiers of an existing user, used for registration conflict checks.
+ */
+public record UserIdentifiers(String email, String phoneNumber) {
+}
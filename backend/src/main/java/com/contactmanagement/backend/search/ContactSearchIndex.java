@@ -0,0 +1,235 @@
+package com.contactmanagement.backend.search;
+
+import com.contactmanagement.backend.config.SearchIndexProperties;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSuggestionDTO;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.projection.ContactRow;
+import com.contactmanagement.backend.repository.projection.EmailRow;
+import com.contactmanagement.backend.repository.projection.PhoneRow;
+import com.contactmanagement.backend.repository.projection.TagRow;
+import com.contactmanagement.backend.util.AfterCommit;
+import com.contactmanagement.backend.util.SearchKeys;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory search over each user's contacts: names, title, emails, phone numbers and tags,
+ * plus typeahead and typo-tolerant search over name tokens and email local parts.
+ *
+ * A user's index is built from four flat queries on their first search and then kept current
+ * by the contact service, which applies every create, update and delete once its transaction
+ * commits. Bulk imports drop the index instead; the next search rebuilds it. A build runs inside
+ * Caffeine's per-key compute, so an update that races with it waits and is applied on top.
+ *
+ * Indexes are weighed by contact count and bounded in total by {@code max-contacts}; the least
+ * recently searched users are evicted first, and idle ones after {@code idle-timeout}. Published
+ * as cache.* metrics with tag cache=contact-search-index.
+ *
+ * Each index also keeps the results of its user's last {@code recent-queries} searches for
+ * {@code recent-query-ttl}, so typing "j", "jo", "joh" filters the previous result each time.
+ * How often that happens is published as cache.gets with tag cache=contact-search-results.
+ */
+@Component
+public class ContactSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactSearchIndex.class);
+    private static final String INDEXES = "contact-search-index";
+    private static final String RESULTS = "contact-search-results";
+
+    /** Default order of results, as the contact list is shown. */
+    private static final Comparator<SearchDocument> BY_NAME =
+            Comparator.comparing(SearchDocument::firstName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(SearchDocument::lastName, String.CASE_INSENSITIVE_ORDER);
+
+    /** Typeahead ranking: favorites first, then by name. */
+    private static final Comparator<SearchDocument> FAVORITES_FIRST =
+            Comparator.comparing((SearchDocument document) -> !document.favorite())
+                    .thenComparing(BY_NAME)
+                    .thenComparing(SearchDocument::id);
+
+    private static final Comparator<UserIndex.Scored> BY_RELEVANCE =
+            Comparator.comparingInt(UserIndex.Scored::score).reversed()
+                    .thenComparing(UserIndex.Scored::document, BY_NAME.thenComparing(SearchDocument::id));
+
+    private final ContactRepository contactRepository;
+    private final boolean enabled;
+    private final int recentQueries;
+    private final Duration recentQueryTtl;
+    private final Counter narrowed;
+    private final Counter notNarrowed;
+    private final Cache<Long, UserIndex> indexes;
+
+    public ContactSearchIndex(ContactRepository contactRepository, SearchIndexProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.contactRepository = contactRepository;
+        this.enabled = properties.isEnabled();
+        this.recentQueries = properties.getRecentQueries();
+        this.recentQueryTtl = properties.getRecentQueryTtl();
+        this.narrowed = resultCounter(meterRegistry, "hit");
+        this.notNarrowed = resultCounter(meterRegistry, "miss");
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxContacts())
+                .weigher((Long userId, UserIndex index) -> Math.max(1, index.size()))
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, INDEXES);
+    }
+
+    /**
+     * Whether searches should be answered here; when not, callers query the database.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ids of the user's contacts matching a query, in the order of {@code sort}.
+     *
+     * Matching is a case-insensitive substring test against first name, last name, full name,
+     * title, emails, phone numbers and tags. A query that looks like a phone number also matches on
+     * digits alone. Only firstName and lastName sort orders are honored; ties go by id.
+     */
+    public List<Long> search(Long userId, String query, Sort sort) {
+        String normalized = SearchDocument.normalize(query);
+        String digits = SearchKeys.phoneQuery(normalized);
+        UserIndex index = indexes.get(userId, this::build);
+        return index.search(normalized, digits, comparator(sort)).stream().map(SearchDocument::id).toList();
+    }
+
+    /**
+     * Ids of the user's contacts matching a query despite typos, most relevant first.
+     *
+     * Every word of the query has to match a name token or email local part: exactly, as a prefix,
+     * or within one edit (two for words over five characters). Exact beats prefix beats fuzzy, and
+     * favorites get a boost; equal scores go by name.
+     */
+    public List<Long> searchFuzzy(Long userId, String query) {
+        List<String> tokens = SearchDocument.tokens(SearchDocument.normalize(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        UserIndex index = indexes.get(userId, this::build);
+        List<UserIndex.Scored> matches = new ArrayList<>(index.fuzzy(tokens));
+        matches.sort(BY_RELEVANCE);
+        return matches.stream().map(match -> match.document().id()).toList();
+    }
+
+    /**
+     * Typeahead: up to {@code limit} contacts with a name token or email local part starting with
+     * each word of the prefix, favorites first. "jo sm" finds "John Smith" and "Smith, Joanne".
+     */
+    public List<ContactSuggestionDTO> suggest(Long userId, String prefix, int limit) {
+        List<String> tokens = SearchDocument.tokens(SearchDocument.normalize(prefix));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        UserIndex index = indexes.get(userId, this::build);
+        return index.suggest(tokens, limit, FAVORITES_FIRST).stream()
+                .map(document -> new ContactSuggestionDTO(document.id(), document.displayName(), document.favorite()))
+                .toList();
+    }
+
+    /**
+     * Index a created or updated contact once the current transaction commits.
+     */
+    public void put(Long userId, ContactDTO contact) {
+        SearchDocument document = SearchDocument.of(contact);
+        AfterCommit.run(() -> indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            index.put(document);
+            return index;
+        }));
+    }
+
+    /**
+     * Remove a deleted contact once the current transaction commits.
+     */
+    public void remove(Long userId, Long contactId) {
+        AfterCommit.run(() -> indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            index.remove(contactId);
+            return index;
+        }));
+    }
+
+    /**
+     * Drop a user's index now and after commit, for writes that bypass the contact service.
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.runNowAndAgain(() -> indexes.invalidate(userId));
+    }
+
+    private UserIndex build(Long userId) {
+        long started = System.nanoTime();
+        List<ContactRow> rows = contactRepository.findAllRowsByUserId(userId);
+        Map<Long, List<String>> phones = group(contactRepository.findPhoneRowsByUserId(userId),
+                PhoneRow::contactId, PhoneRow::phone);
+        Map<Long, List<String>> emails = group(contactRepository.findEmailRowsByUserId(userId),
+                EmailRow::contactId, EmailRow::email);
+        Map<Long, List<String>> tags = group(contactRepository.findTagRowsByUserId(userId),
+                TagRow::contactId, TagRow::tag);
+        List<SearchDocument> documents = new ArrayList<>(rows.size());
+        for (ContactRow row : rows) {
+            documents.add(SearchDocument.of(row.id(), row.firstName(), row.lastName(), row.title(),
+                    Boolean.TRUE.equals(row.isFavorite()),
+                    emails.getOrDefault(row.id(), List.of()),
+                    phones.getOrDefault(row.id(), List.of()),
+                    tags.getOrDefault(row.id(), List.of())));
+        }
+        UserIndex index = new UserIndex(documents,
+                new RecentResults(recentQueries, recentQueryTtl, narrowed, notNarrowed));
+        logger.debug("Built search index of user {}: {} contacts in {} ms",
+                userId, documents.size(), (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .description("Searches answered by filtering a recent result (hit) or from the trigram index (miss)")
+                .tags("cache", RESULTS, "result", result)
+                .register(meterRegistry);
+    }
+
+    private static <T> Map<Long, List<String>> group(List<T> rows, Function<T, Long> contactId,
+                                                     Function<T, String> value) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (T row : rows) {
+            String text = value.apply(row);
+            if (text != null) {
+                grouped.computeIfAbsent(contactId.apply(row), id -> new ArrayList<>()).add(text);
+            }
+        }
+        return grouped;
+    }
+
+    private static Comparator<SearchDocument> comparator(Sort sort) {
+        Comparator<SearchDocument> order = null;
+        for (Sort.Order property : sort) {
+            Comparator<SearchDocument> next = switch (property.getProperty()) {
+                case "firstName" -> Comparator.comparing(SearchDocument::firstName, String.CASE_INSENSITIVE_ORDER);
+                case "lastName" -> Comparator.comparing(SearchDocument::lastName, String.CASE_INSENSITIVE_ORDER);
+                default -> null;
+            };
+            if (next != null) {
+                next = property.isDescending() ? next.reversed() : next;
+                order = order == null ? next : order.thenComparing(next);
+            }
+        }
+        return (order == null ? BY_NAME : order).thenComparing(SearchDocument::id);
+    }
+}
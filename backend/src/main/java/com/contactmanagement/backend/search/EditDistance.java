@@ -0,0 +1,50 @@
+package com.contactmanagement.backend.search;
+
+/**
+ * Edit distance with an upper bound, for verifying fuzzy candidates.
+ *
+ * Counts insertions, deletions, substitutions and swaps of adjacent characters (optimal string
+ * alignment), so the common typo "jonh" is one edit from "john". Stops as soon as every cell of a
+ * row exceeds the bound, which keeps most rejections well under the full O(n*m).
+ */
+final class EditDistance {
+
+    private EditDistance() {
+    }
+
+    /**
+     * Distance between {@code a} and {@code b}, or {@code max + 1} if it is larger than {@code max}.
+     */
+    static int bounded(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
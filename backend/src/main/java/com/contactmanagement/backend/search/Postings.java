@@ -0,0 +1,58 @@
+package com.contactmanagement.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of document slots containing one gram. A primitive array rather than a boxed
+ * collection: a user index holds one of these per distinct gram.
+ */
+final class Postings {
+
+    private int[] slots = new int[4];
+    private int size;
+
+    void add(int slot) {
+        if (size > 0 && slots[size - 1] >= slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                return;
+            }
+            insert(-at - 1, slot);
+        } else {
+            insert(size, slot);
+        }
+    }
+
+    void remove(int slot) {
+        int at = Arrays.binarySearch(slots, 0, size, slot);
+        if (at >= 0) {
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            size--;
+        }
+    }
+
+    boolean contains(int slot) {
+        return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+    }
+
+    int get(int index) {
+        return slots[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void insert(int at, int slot) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        System.arraycopy(slots, at, slots, at + 1, size - at);
+        slots[at] = slot;
+        size++;
+    }
+}
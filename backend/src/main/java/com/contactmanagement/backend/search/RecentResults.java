@@ -0,0 +1,87 @@
+package com.contactmanagement.backend.search;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The last few search results of one user, so that a query typed one more character at a time
+ * is answered by filtering the previous result instead of walking the postings again.
+ *
+ * A result can be narrowed when the new query starts with its query: every text containing
+ * "joh" also contains "jo". Phone digits follow the same rule, so a phone-like query only narrows
+ * a result that was itself looked up by digits. The owning index clears this on every change.
+ */
+final class RecentResults {
+
+    private record Entry(String query, String digits, List<SearchDocument> matches, long expiresAt) {
+    }
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    /**
+     * @param capacity results kept, most recent first; 0 turns narrowing off
+     */
+    RecentResults(int capacity, Duration ttl, Counter hits, Counter misses) {
+        this.capacity = capacity;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Matches of the most specific recent query that {@code query} extends, a superset of its own
+     * matches in the order they were found; null if there is none.
+     */
+    synchronized List<SearchDocument> candidates(String query, String digits) {
+        if (capacity == 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        Entry best = null;
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (now - entry.expiresAt() > 0) {
+                it.remove();
+            } else if (narrows(entry, query, digits)
+                    && (best == null || entry.query().length() > best.query().length())) {
+                best = entry;
+            }
+        }
+        (best == null ? misses : hits).increment();
+        return best == null ? null : best.matches();
+    }
+
+    /**
+     * @param matches not modified afterwards
+     */
+    synchronized void add(String query, String digits, List<SearchDocument> matches) {
+        if (capacity == 0) {
+            return;
+        }
+        entries.removeIf(entry -> entry.query().equals(query));
+        entries.addFirst(new Entry(query, digits, matches, System.nanoTime() + ttlNanos));
+        while (entries.size() > capacity) {
+            entries.removeLast();
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    private static boolean narrows(Entry entry, String query, String digits) {
+        if (!query.startsWith(entry.query())) {
+            return false;
+        }
+        return digits == null || entry.digits() != null && digits.contains(entry.digits());
+    }
+}
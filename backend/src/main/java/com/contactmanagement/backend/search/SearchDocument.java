@@ -0,0 +1,148 @@
+package com.contactmanagement.backend.search;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.util.PhoneNumbers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Searchable text of one contact: lower-cased names (each and in full), title, emails, phone
+ * numbers and tags, plus phone numbers reduced to their digits so "555 0100" finds "+1 (555) 010-0".
+ *
+ * {@code terms} are the words typeahead completes: name tokens and the local parts of emails.
+ */
+record SearchDocument(Long id, String firstName, String lastName, boolean favorite,
+                      List<String> texts, List<String> phoneDigits, List<String> terms) {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[\\s\\-,]+");
+
+    /** Gram length; queries shorter than this are matched by scanning instead. */
+    static final int GRAM = 3;
+
+    static SearchDocument of(Long id, String firstName, String lastName, String title, boolean favorite,
+                             List<String> emails, List<String> phones, List<String> tags) {
+        String first = firstName == null ? "" : firstName;
+        String last = lastName == null ? "" : lastName;
+        List<String> texts = new ArrayList<>();
+        texts.add(normalize(first));
+        texts.add(normalize(last));
+        texts.add(normalize(first + " " + last));
+        if (title != null) {
+            texts.add(normalize(title));
+        }
+        List<String> digits = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+        addTerms(normalize(first), terms);
+        addTerms(normalize(last), terms);
+        for (String email : emails) {
+            String address = normalize(email);
+            texts.add(address);
+            int at = address.indexOf('@');
+            addTerm(at >= 0 ? address.substring(0, at) : address, terms);
+        }
+        for (String phone : phones) {
+            texts.add(normalize(phone));
+            String phoneDigits = PhoneNumbers.digits(phone);
+            if (!phoneDigits.isEmpty()) {
+                digits.add(phoneDigits);
+            }
+        }
+        for (String tag : tags) {
+            texts.add(normalize(tag));
+        }
+        return new SearchDocument(id, first, last, favorite, List.copyOf(texts), List.copyOf(digits),
+                List.copyOf(terms));
+    }
+
+    static SearchDocument of(ContactDTO contact) {
+        return of(contact.getId(), contact.getFirstName(), contact.getLastName(), contact.getTitle(),
+                Boolean.TRUE.equals(contact.getIsFavorite()),
+                contact.getEmailAddresses() == null ? List.of()
+                        : contact.getEmailAddresses().stream().map(EmailDTO::getEmail).toList(),
+                contact.getPhoneNumbers() == null ? List.of()
+                        : contact.getPhoneNumbers().stream().map(PhoneDTO::getPhone).toList(),
+                contact.getTags() == null ? List.of() : contact.getTags());
+    }
+
+    /**
+     * Whether the normalized query is a substring of any text, or its digits of any phone number.
+     *
+     * @param digits digits of a phone-like query, or null
+     */
+    boolean matches(String query, String digits) {
+        for (String text : texts) {
+            if (text.contains(query)) {
+                return true;
+            }
+        }
+        if (digits != null) {
+            for (String phone : phoneDigits) {
+                if (phone.contains(digits)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether every token is the start of one of the terms.
+     */
+    boolean hasTermsStartingWith(List<String> tokens) {
+        for (String token : tokens) {
+            if (terms.stream().noneMatch(term -> term.startsWith(token))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String displayName() {
+        return lastName.isBlank() ? firstName.trim() : (firstName.trim() + " " + lastName.trim()).trim();
+    }
+
+    /**
+     * Split normalized text into the tokens typeahead matches on.
+     */
+    static List<String> tokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        addTerms(value, tokens);
+        return tokens;
+    }
+
+    private static void addTerms(String value, List<String> terms) {
+        for (String token : TOKEN_SEPARATOR.split(value)) {
+            addTerm(token, terms);
+        }
+    }
+
+    private static void addTerm(String term, List<String> terms) {
+        if (!term.isEmpty() && !terms.contains(term)) {
+            terms.add(term);
+        }
+    }
+
+    Set<String> grams() {
+        Set<String> grams = new HashSet<>();
+        texts.forEach(text -> addGrams(text, grams));
+        phoneDigits.forEach(phone -> addGrams(phone, grams));
+        return grams;
+    }
+
+    static void addGrams(String value, Set<String> grams) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
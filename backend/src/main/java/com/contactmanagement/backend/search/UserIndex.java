@@ -0,0 +1,389 @@
+package com.contactmanagement.backend.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over one user's contacts, plus a sorted term map for typeahead.
+ *
+ * Each document gets a slot; every trigram of its texts maps to the sorted slots containing it.
+ * A query of three or more characters is answered by intersecting the postings of its trigrams,
+ * which leaves a superset of the matches, and checking those few candidates by substring. Shorter
+ * queries have no trigrams and scan all documents, which is still only a walk over memory.
+ *
+ * Typeahead terms (name tokens, email local parts) are kept in a sorted map, so the terms starting
+ * with a prefix are one contiguous range found by binary search.
+ *
+ * Fuzzy search works on the same terms. Each term is also posted under its padded trigrams, so a
+ * misspelled word still shares its leading grams with the right term ("jonh" and "john" share
+ * "^^j" and "^jo", with ^ for the padding). Terms sharing enough grams are then checked with a bounded edit distance.
+ *
+ * A query extending one of the last few queries filters that query's matches instead; see
+ * {@link RecentResults}. They are dropped on every update.
+ *
+ * An update keeps the contact's slot; a removal frees it. Freed slots are reclaimed by compacting
+ * once they outnumber the live ones. Searches share a read lock, updates take the write lock.
+ */
+final class UserIndex {
+
+    private static final int MIN_COMPACT = 64;
+
+    // Relevance of one query word, by how it matched a term of the document
+    static final int EXACT = 100;
+    static final int PREFIX = 60;
+    static final int FUZZY = 40;
+    /** Taken off a fuzzy match for each edit beyond the first. */
+    static final int PER_EDIT = 15;
+    static final int FAVORITE_BOOST = 20;
+    /** Words shorter than this are only matched exactly or as a prefix. */
+    static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final char PAD = '\0';
+
+    /** A document and its relevance to a fuzzy query. */
+    record Scored(SearchDocument document, int score) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<SearchDocument> documents = new ArrayList<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+    private final RecentResults recent;
+    private int free;
+
+    UserIndex(List<SearchDocument> documents, RecentResults recent) {
+        this.recent = recent;
+        documents.forEach(this::add);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            recent.clear();
+            Integer slot = slots.get(document.id());
+            if (slot == null) {
+                add(document);
+            } else {
+                unpost(slot, documents.get(slot));
+                documents.set(slot, document);
+                post(slot, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long contactId) {
+        lock.writeLock().lock();
+        try {
+            recent.clear();
+            Integer slot = slots.remove(contactId);
+            if (slot == null) {
+                return;
+            }
+            unpost(slot, documents.get(slot));
+            documents.set(slot, null);
+            if (++free >= MIN_COMPACT && free > slots.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documents matching a normalized query, in the given order. Unmodifiable.
+     *
+     * @param digits digits of a phone-like query, also looked up in phone numbers; or null
+     */
+    List<SearchDocument> search(String query, String digits, Comparator<SearchDocument> order) {
+        List<SearchDocument> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<SearchDocument> candidates = recent.candidates(query, digits);
+            if (candidates != null) {
+                for (SearchDocument document : candidates) {
+                    if (document.matches(query, digits)) {
+                        matches.add(document);
+                    }
+                }
+            } else if (query.isEmpty()) {
+                documents.stream().filter(document -> document != null).forEach(matches::add);
+            } else {
+                BitSet seen = new BitSet(documents.size());
+                collect(query, query, digits, seen, matches);
+                if (digits != null && !digits.equals(query)) {
+                    collect(digits, query, digits, seen, matches);
+                }
+            }
+            // Sorted and kept under the read lock, so no update can slip in before it is recorded
+            matches.sort(order);
+            recent.add(query, digits, Collections.unmodifiableList(matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * The best {@code limit} documents with a term starting with each token, best first.
+     */
+    List<SearchDocument> suggest(List<String> tokens, int limit, Comparator<SearchDocument> rank) {
+        // Largest first: the longest token has the fewest terms to walk
+        String longest = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        PriorityQueue<SearchDocument> best = new PriorityQueue<>(limit + 1, rank.reversed());
+        lock.readLock().lock();
+        try {
+            BitSet seen = new BitSet(documents.size());
+            for (Postings list : terms.subMap(longest, true, longest + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < list.size(); i++) {
+                    int slot = list.get(i);
+                    if (seen.get(slot)) {
+                        continue;
+                    }
+                    seen.set(slot);
+                    SearchDocument document = documents.get(slot);
+                    if (tokens.size() == 1 || document.hasTermsStartingWith(tokens)) {
+                        best.add(document);
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<SearchDocument> suggestions = new ArrayList<>(best);
+        suggestions.sort(rank);
+        return suggestions;
+    }
+
+    /**
+     * Documents where every word of the query matches a term exactly, as a prefix or within a few
+     * edits, scored by the sum of each word's best match plus a boost for favorites. Unordered.
+     */
+    List<Scored> fuzzy(List<String> tokens) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> total = null;
+            for (String token : tokens) {
+                Map<Integer, Integer> scores = tokenScores(token);
+                if (total == null) {
+                    total = scores;
+                } else {
+                    Map<Integer, Integer> both = new HashMap<>();
+                    for (Map.Entry<Integer, Integer> entry : total.entrySet()) {
+                        Integer score = scores.get(entry.getKey());
+                        if (score != null) {
+                            both.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    total = both;
+                }
+                if (total.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Scored> matches = new ArrayList<>(total.size());
+            total.forEach((slot, score) -> {
+                SearchDocument document = documents.get(slot);
+                matches.add(new Scored(document, score + (document.favorite() ? FAVORITE_BOOST : 0)));
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score of one query word per document slot.
+     */
+    private Map<Integer, Integer> tokenScores(String token) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Postings> entry : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            score(entry.getValue(), entry.getKey().equals(token) ? EXACT : PREFIX, scores);
+        }
+        if (token.length() < MIN_FUZZY_LENGTH) {
+            return scores;
+        }
+        int maxEdits = maxEdits(token);
+        List<String> grams = paddedGrams(token);
+        // An edit touches at most three grams, a swap of two letters four; terms sharing fewer cannot be close enough
+        int minShared = Math.max(1, grams.size() - 4 * maxEdits);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String term : termsByGram.getOrDefault(gram, Set.of())) {
+                if (Math.abs(term.length() - token.length()) <= maxEdits) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            if (candidate.getValue() < minShared || candidate.getKey().startsWith(token)) {
+                continue;
+            }
+            int edits = EditDistance.bounded(token, candidate.getKey(), maxEdits);
+            if (edits <= maxEdits) {
+                score(terms.get(candidate.getKey()), FUZZY - (edits - 1) * PER_EDIT, scores);
+            }
+        }
+        return scores;
+    }
+
+    private static void score(Postings slots, int score, Map<Integer, Integer> scores) {
+        for (int i = 0; i < slots.size(); i++) {
+            scores.merge(slots.get(i), score, Math::max);
+        }
+    }
+
+    /**
+     * Edits allowed for a word: one up to five characters, two beyond.
+     */
+    static int maxEdits(String token) {
+        return token.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Add the documents whose slots contain every trigram of {@code key} and that really match.
+     */
+    private void collect(String key, String query, String digits, BitSet seen, List<SearchDocument> matches) {
+        if (key.length() < SearchDocument.GRAM) {
+            for (int slot = 0; slot < documents.size(); slot++) {
+                check(slot, query, digits, seen, matches);
+            }
+            return;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(key)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings shortest = lists.get(0);
+        candidates:
+        for (int i = 0; i < shortest.size(); i++) {
+            int slot = shortest.get(i);
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(slot)) {
+                    continue candidates;
+                }
+            }
+            check(slot, query, digits, seen, matches);
+        }
+    }
+
+    private void check(int slot, String query, String digits, BitSet seen, List<SearchDocument> matches) {
+        SearchDocument document = documents.get(slot);
+        if (document != null && !seen.get(slot) && document.matches(query, digits)) {
+            seen.set(slot);
+            matches.add(document);
+        }
+    }
+
+    private void add(SearchDocument document) {
+        int slot = documents.size();
+        documents.add(document);
+        slots.put(document.id(), slot);
+        post(slot, document);
+    }
+
+    private void post(int slot, SearchDocument document) {
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+        for (String term : document.terms()) {
+            terms.computeIfAbsent(term, key -> {
+                paddedGrams(key).forEach(gram -> termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(key));
+                return new Postings();
+            }).add(slot);
+        }
+    }
+
+    private void unpost(int slot, SearchDocument document) {
+        for (String gram : document.grams()) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                list.remove(slot);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        for (String term : document.terms()) {
+            Postings list = terms.get(term);
+            if (list != null) {
+                list.remove(slot);
+                if (list.isEmpty()) {
+                    terms.remove(term);
+                    for (String gram : paddedGrams(term)) {
+                        Set<String> gramTerms = termsByGram.get(gram);
+                        gramTerms.remove(term);
+                        if (gramTerms.isEmpty()) {
+                            termsByGram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void compact() {
+        List<SearchDocument> live = documents.stream().filter(document -> document != null).toList();
+        documents.clear();
+        slots.clear();
+        postings.clear();
+        terms.clear();
+        termsByGram.clear();
+        free = 0;
+        live.forEach(this::add);
+    }
+
+    /**
+     * Trigrams of a term padded with two marks in front and one behind, so the first letters,
+     * where typos are rarest, weigh the most and short words still have several grams.
+     */
+    private static List<String> paddedGrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD;
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + SearchDocument.GRAM <= padded.length(); i++) {
+            String gram = padded.substring(i, i + SearchDocument.GRAM);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        SearchDocument.addGrams(value, grams);
+        return grams;
+    }
+}
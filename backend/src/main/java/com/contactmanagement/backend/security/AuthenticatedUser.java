@@ -0,0 +1,19 @@
+package com.contactmanagement.backend.security;
+
+import com.contactmanagement.backend.entity.User;
+
+/**
+ * Lightweight, immutable principal stored in the SecurityContext for JWT-authenticated requests.
+ * Holds only what is needed to identify the user, so it can be cached across requests.
+ *
+ * @param id           primary key of the user
+ * @param username     token subject (email or phone number)
+ * @param tokenVersion current token version of the user
+ */
+public record AuthenticatedUser(Long id, String username, int tokenVersion) {
+
+    public static AuthenticatedUser of(User user, String username) {
+        return new AuthenticatedUser(user.getId(), username,
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0);
+    }
+}
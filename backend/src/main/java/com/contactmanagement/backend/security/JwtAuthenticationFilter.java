@@ -1,6 +1,5 @@
 package com.contactmanagement.backend.security;
 
-import com.contactmanagement.backend.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,14 +9,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * JWT Authentication Filter
@@ -27,14 +25,17 @@ import java.util.ArrayList;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
     
     // Using 'log' instead of 'logger' to avoid conflict with parent class field
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache,
+                                   TokenRevocationList tokenRevocationList) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
@@ -55,7 +56,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract Authorization header
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -68,42 +68,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extract username from JWT
-            username = jwtUtil.extractUsername(jwt);
+            // Verify signature and expiry in a single parse
+            JwtClaims claims = jwtUtil.verify(jwt);
+            String username = claims.subject();
             log.debug("JWT token found for user: {}", username);
 
             // If username is valid and no authentication exists in context
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-                // Load user from database
-                var user = userRepository.findByEmail(username)
-                        .orElseGet(() -> userRepository.findByPhoneNumber(username)
-                                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+                // Explicitly revoked (logged out) tokens - in-memory check, no database access
+                if (claims.tokenId() != null && tokenRevocationList.isRevoked(claims.tokenId())) {
+                    throw new io.jsonwebtoken.JwtException("Token has been revoked");
+                }
+                
+                // Resolve principal (cached, falls back to the database on a miss)
+                AuthenticatedUser principal = principalCache.get(username)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+                // The subject may have been re-assigned to another account since the token was issued
+                if (claims.userId() != null && !claims.userId().equals(principal.id())) {
+                    throw new UsernameNotFoundException("Token user id does not match subject");
+                }
 
-                // Validate token
-                if (jwtUtil.validateToken(jwt, username)) {
-                    // Create UserDetails (Spring Security requirement)
-                    UserDetails userDetails = org.springframework.security.core.userdetails.User
-                            .withUsername(username)
-                            .password(user.getPassword())
-                            .authorities(new ArrayList<>())
-                            .build();
+                // Password changes bump the user's token version, invalidating every older token
+                if (claims.tokenVersionOrDefault() != principal.tokenVersion()) {
+                    throw new io.jsonwebtoken.JwtException("Token version is no longer valid");
+                }
 
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+                // Create authentication token
+                // Verified claims are kept as credentials so the token can be revoked on logout
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        claims,
+                        List.of()
+                );
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Authentication set successfully for user: {}", username);
-                } else {
-                    log.warn("JWT token validation failed for user: {}", username);
-                }
+                // Set authentication in SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                log.debug("Authentication set successfully for user: {}", username);
             }
         } catch (io.jsonwebtoken.JwtException e) {
             log.error("JWT validation failed: {}", e.getMessage());
@@ -0,0 +1,42 @@
+package com.contactmanagement.backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims of a verified JWT token.
+ * Produced by {@link JwtUtil#verify(String)} so callers never have to re-parse the token.
+ *
+ * @param tokenId      unique token id (jti), null for tokens issued before the claim existed
+ * @param userId       user primary key, null for older tokens
+ * @param tokenVersion user's token version at issue time, null for older tokens
+ */
+public record JwtClaims(String tokenId, String subject, Long userId, Integer tokenVersion,
+                        Instant issuedAt, Instant expiresAt) {
+
+    static final String USER_ID = "uid";
+    static final String TOKEN_VERSION = "ver";
+
+    static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get(USER_ID, Long.class),
+                claims.get(TOKEN_VERSION, Integer.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    /**
+     * Token version to compare against the user's current one; tokens without the claim count as version 0.
+     */
+    public int tokenVersionOrDefault() {
+        return tokenVersion != null ? tokenVersion : 0;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -1,58 +1,80 @@
 package com.contactmanagement.backend.security;
 
+import com.contactmanagement.backend.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
+/**
+ * Issues and verifies JWT tokens.
+ * The signing key and parser are built once at startup and shared across requests;
+ * both are immutable and thread-safe.
+ */
 @Component
 public class JwtUtil {
-    
-    @Value("${jwt.secret}")
-    private String secret;
-    
-    @Value("${jwt.expiration}")
-    private Long expiration;
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+
+    public JwtUtil(JwtProperties jwtProperties) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.expiration = jwtProperties.getExpiration();
     }
-    
-    public String generateToken(String username) {
+
+    /**
+     * Issue a token that carries the user id and token version as claims,
+     * so authenticated requests can identify the user without a lookup.
+     */
+    public String generateToken(String username, Long userId, int tokenVersion) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
+                .claim(JwtClaims.USER_ID, userId)
+                .claim(JwtClaims.TOKEN_VERSION, tokenVersion)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
-    
+
+    /**
+     * Verify the token signature and expiry in a single parse.
+     *
+     * @param token compact JWT string
+     * @return the verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtClaims verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return JwtClaims.from(claims);
+    }
+
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return verify(token).subject();
     }
-    
+
     public Date extractExpiration(String token) {
-        return extractClaims(token).getExpiration();
-    }
-    
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return Date.from(verify(token).expiresAt());
     }
-    
+
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token).isExpired();
     }
-    
+
     public boolean validateToken(String token, String username) {
-        return (extractUsername(token).equals(username) && !isTokenExpired(token));
+        JwtClaims claims = verify(token);
+        return claims.subject().equals(username) && !claims.isExpired();
     }
-}
\ No newline at end of file
+}
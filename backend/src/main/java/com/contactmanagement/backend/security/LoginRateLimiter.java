@@ -0,0 +1,223 @@
+package com.contactmanagement.backend.security;
+
+import com.contactmanagement.backend.config.LoginThrottleProperties;
+import com.contactmanagement.backend.exception.TooManyRequestsException;
+import com.contactmanagement.backend.util.PhoneNumbers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory, lock-striped token-bucket limiter for login attempts.
+ *
+ * Every attempt must take one token from the bucket of the submitted username and one from
+ * the bucket of the client IP. The check runs before any database lookup or BCrypt work,
+ * so credential-stuffing floods are rejected at almost no cost.
+ *
+ * Buckets live in a fixed number of stripes, each an access-ordered map guarded by its own lock.
+ * Idle buckets are dropped on access, and each stripe is capped at {@code maxEntriesPerStripe},
+ * which bounds total memory. A full stripe prefers to drop one of its least recently used buckets
+ * that has refilled to capacity, since that is equivalent to a fresh one, and otherwise drops the
+ * least recently used bucket. The limiter thus never turns away a key just because it is out of
+ * room, at the cost that a large enough flood of distinct keys can reset an idle-looking bucket.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    /** Least recently used buckets checked for one that has refilled before evicting the eldest. */
+    private static final int EVICTION_SCAN = 8;
+
+    private final LoginThrottleProperties properties;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes;
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginRateLimiter(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    LoginRateLimiter(LoginThrottleProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.stripes = new Stripe[properties.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.usernameRejections = Counter.builder("login.throttle.rejected")
+                .tag("key", "username")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("login.throttle.rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a login attempt, rejecting it if either the username or the client IP is over its limit.
+     *
+     * @throws TooManyRequestsException if the attempt must be rejected
+     */
+    public void checkLoginAttempt(String username, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+
+        long ipWait = tryAcquire("ip:" + clientIp, properties.getIpCapacity(), properties.getIpRefillPerMinute(), now);
+        if (ipWait > 0) {
+            ipRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts, please try again later", toSeconds(ipWait));
+        }
+
+        long usernameWait = tryAcquire("u:" + normalizeUsername(username),
+                properties.getUsernameCapacity(), properties.getUsernameRefillPerMinute(), now);
+        if (usernameWait > 0) {
+            usernameRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts, please try again later", toSeconds(usernameWait));
+        }
+    }
+
+    /**
+     * Client address for throttling. X-Forwarded-For is honoured only when explicitly trusted,
+     * since it is otherwise trivially spoofed to dodge the per-IP limit. Even then only the
+     * entries appended by our own proxies can be believed: the right-most entry that is not one
+     * of {@code trustedProxies} is the address the outermost trusted proxy saw.
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                String[] hops = forwarded.split(",");
+                for (int i = hops.length - 1; i >= 0; i--) {
+                    String hop = hops[i].trim();
+                    if (!hop.isEmpty() && (i == 0 || !properties.getTrustedProxies().contains(hop))) {
+                        return hop;
+                    }
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise nanoseconds until one becomes available
+     */
+    private long tryAcquire(String key, int capacity, int refillPerMinute, long now) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        double refillPerNano = (double) refillPerMinute / NANOS_PER_MINUTE;
+        long idleNanos = properties.getIdleTimeout().toNanos();
+
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(now, idleNanos);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                stripe.makeRoom(properties.getMaxEntriesPerStripe(), now);
+                bucket = new Bucket(capacity, refillPerNano, now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static String normalizeUsername(String username) {
+        String trimmed = username == null ? "" : username.trim();
+        if (trimmed.indexOf('@') < 0) {
+            String phone = PhoneNumbers.normalize(trimmed);
+            if (phone != null) {
+                return phone;
+            }
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos) + 1);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+
+        /** Access order puts the least recently used buckets first, so stop at the first active one. */
+        void evictIdle(long now, long idleNanos) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().lastAccess < idleNanos) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+
+        /**
+         * If the stripe is full, drop one of the least recently used buckets that has refilled,
+         * or else the least recently used one.
+         */
+        void makeRoom(int maxEntries, long now) {
+            if (buckets.size() < maxEntries) {
+                return;
+            }
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            for (int scanned = 0; scanned < EVICTION_SCAN && iterator.hasNext(); scanned++) {
+                if (iterator.next().isFull(now)) {
+                    iterator.remove();
+                    return;
+                }
+            }
+            iterator = buckets.values().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+        private long lastAccess;
+
+        Bucket(int capacity, double refillPerNano, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+            this.lastRefill = now;
+            this.lastAccess = now;
+        }
+
+        long tryConsume(long now) {
+            tokens = tokensAt(now);
+            lastRefill = now;
+            lastAccess = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano);
+        }
+
+        boolean isFull(long now) {
+            return tokensAt(now) >= capacity;
+        }
+
+        private double tokensAt(long now) {
+            return Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.contactmanagement.backend.security;
+
+import com.contactmanagement.backend.config.PrincipalCacheProperties;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by token subject.
+ *
+ * Saves the user lookup the JWT filter would otherwise run on every request.
+ * Anything that changes or removes a user must call {@link #evict(String...)}.
+ * Hit, miss and eviction counts are published as cache.* metrics with tag cache=principals.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principals";
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(UserRepository userRepository, PrincipalCacheProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        Counter explicitEvictions = Counter.builder("cache.explicit.evictions")
+                .description("Entries removed because the underlying user changed")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .removalListener((String key, AuthenticatedUser value, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPLICIT) {
+                        explicitEvictions.increment();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Resolve the principal for a token subject, loading it from the database on a miss.
+     *
+     * @param subject email or phone number from the token
+     * @return the principal, or empty if no such user exists
+     */
+    public Optional<AuthenticatedUser> get(String subject) {
+        return Optional.ofNullable(cache.get(subject, this::load));
+    }
+
+    /**
+     * Drop cached principals for the given subjects, now and again once the
+     * surrounding transaction commits, so a concurrent request cannot re-cache stale data.
+     *
+     * @param subjects emails and/or phone numbers; nulls are ignored
+     */
+    public void evict(String... subjects) {
+        AfterCommit.runNowAndAgain(() -> invalidate(subjects));
+    }
+
+    private void invalidate(String... subjects) {
+        for (String subject : subjects) {
+            if (subject != null) {
+                cache.invalidate(subject);
+            }
+        }
+    }
+
+    private AuthenticatedUser load(String subject) {
+        return userRepository.findByIdentifier(subject)
+                .map(user -> AuthenticatedUser.of(user, subject))
+                .orElse(null);
+    }
+}
@@ -1,8 +1,11 @@
 package com.contactmanagement.backend.security;
 
+import com.contactmanagement.backend.config.PasswordHashingProperties;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -32,8 +35,8 @@ public class SecurityConfig {
     }
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(passwordHashingProperties.getBcryptStrength());
     }
     
     @Bean
@@ -44,6 +47,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Allow public endpoints (authentication)
                 .requestMatchers("/api/auth/**").permitAll()
+                // Content-addressed images are loaded directly by img tags
+                .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
+                // Completion of streamed responses; the request was authorized on its first dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Require authentication for all other endpoints
                 .anyRequest().authenticated()
             )
@@ -27,31 +27,69 @@ public class SecurityUtils {
     }
 
     /**
-     * Get the currently authenticated user from JWT token in SecurityContext
+     * Get the principal of the currently authenticated request
      * 
-     * @return User entity of the authenticated user
-     * @throws ResourceNotFoundException if no user is authenticated or user not found
+     * @return principal resolved by the JWT filter
+     * @throws ResourceNotFoundException if no user is authenticated
      */
-    public User getCurrentUser() {
+    public AuthenticatedUser getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
             throw new ResourceNotFoundException("No authenticated user found. Please login.");
         }
 
-        Object principal = authentication.getPrincipal();
-        String username;
+        return principal;
+    }
+
+    /**
+     * Get the verified claims of the token that authenticated the current request
+     * 
+     * @return token claims, or null if the request was not authenticated by a JWT
+     */
+    public JwtClaims getCurrentTokenClaims() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
-        if (principal instanceof UserDetails userDetails) {
-            username = userDetails.getUsername();
-        } else {
-            username = principal.toString();
+        if (authentication != null && authentication.getCredentials() instanceof JwtClaims claims) {
+            return claims;
         }
+        return null;
+    }
 
-        // Find user by email or phone number
-        return userRepository.findByEmail(username)
-                .orElseGet(() -> userRepository.findByPhoneNumber(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username)));
+    /**
+     * Get the id of the currently authenticated user without touching the database
+     * 
+     * @return user id carried by the authenticated principal
+     * @throws ResourceNotFoundException if no user is authenticated
+     */
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().id();
+    }
+
+    /**
+     * Get an uninitialized reference to the current user, for use as an association target.
+     * No SELECT is issued unless a non-id property of the reference is read.
+     * 
+     * @return lazy User reference
+     * @throws ResourceNotFoundException if no user is authenticated
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
+    /**
+     * Get the currently authenticated user from JWT token in SecurityContext
+     * 
+     * @return User entity of the authenticated user
+     * @throws ResourceNotFoundException if no user is authenticated or user not found
+     */
+    public User getCurrentUser() {
+        AuthenticatedUser principal = getCurrentPrincipal();
+
+        // The filter already resolved the id, so this is a single primary-key lookup
+        return userRepository.findById(principal.id())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + principal.username()));
     }
 
     /**
@@ -68,6 +106,9 @@ public class SecurityUtils {
 
         Object principal = authentication.getPrincipal();
         
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.username();
+        }
         if (principal instanceof UserDetails userDetails) {
             return userDetails.getUsername();
         }
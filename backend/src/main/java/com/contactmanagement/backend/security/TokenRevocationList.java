@@ -0,0 +1,85 @@
+package com.contactmanagement.backend.security;
+
+import com.contactmanagement.backend.config.TokenRevocationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deny list of individually revoked tokens (by jti).
+ *
+ * A Bloom filter sits in front of the exact set: almost every request carries a token that was
+ * never revoked, and the filter answers that without allocating or touching the map.
+ * Entries are kept only until the token would have expired anyway; a periodic purge drops them
+ * and rebuilds the filter so it does not fill up over time.
+ *
+ * Bulk invalidation (password change, account deletion) uses the per-user token version claim
+ * instead, so this list only holds explicit logouts.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final TokenRevocationProperties properties;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile TokenBloomFilter filter;
+
+    public TokenRevocationList(TokenRevocationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.filter = newFilter();
+        Gauge.builder("security.revoked.tokens", revoked, ConcurrentHashMap::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deny a token until its natural expiry.
+     *
+     * @param tokenId   jti claim of the token
+     * @param expiresAt expiry of the token; nothing is stored if it has already passed
+     */
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt.toEpochMilli());
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Drop entries whose tokens have expired and rebuild the filter from what is left.
+     * Runs under the same lock as {@link #revoke}, so no concurrent revocation can be lost.
+     */
+    @Scheduled(fixedDelayString = "${security.token-revocation.purge-interval:60000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        if (revoked.size() == before) {
+            return;
+        }
+        TokenBloomFilter rebuilt = newFilter();
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        logger.debug("Purged {} expired revoked tokens", before - revoked.size());
+    }
+
+    private TokenBloomFilter newFilter() {
+        return new TokenBloomFilter(properties.getExpectedEntries(), properties.getFalsePositiveRate());
+    }
+}
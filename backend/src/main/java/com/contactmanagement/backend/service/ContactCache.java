@@ -0,0 +1,152 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.ContactCacheProperties;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user cache of contact DTOs and contact list pages.
+ *
+ * Single contacts are keyed by user and contact id and evicted one by one. A load runs inside
+ * Caffeine's per-key compute, so an eviction that races with it waits for the load and then
+ * removes what it stored.
+ *
+ * Pages are keyed by user, query and the user's current generation. Any write bumps the
+ * generation, which retires all of that user's pages at once; they age out through the size
+ * and TTL bounds. Generations are drawn from one global counter, so a user whose generation
+ * was evicted never gets an old value back.
+ *
+ * Evictions run when the write happens and again after its transaction commits: a read that
+ * overlapped the write and cached the old state is dropped before the write returns.
+ *
+ * DTOs are mutable and shared by every request that hits the same entry, so callers always get a
+ * copy of the cached contact or page, down to the email, phone and tag lists.
+ *
+ * Published as cache.* metrics with tags cache=contacts and cache=contact-pages; the hit
+ * ratio is cache.gets{result=hit} over all cache.gets.
+ */
+@Component
+public class ContactCache {
+
+    private static final String CONTACTS = "contacts";
+    private static final String PAGES = "contact-pages";
+
+    private final boolean enabled;
+    private final Cache<ContactKey, ContactDTO> contacts;
+    private final Cache<PageKey, Page<ContactDTO>> pages;
+    private final Cache<Long, Long> generations;
+    private final AtomicLong nextGeneration = new AtomicLong();
+
+    public ContactCache(ContactCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.contacts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxContacts())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPages())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        // Outlives the pages it tags, so a live page never sees its generation recreated
+        this.generations = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getTtl().multipliedBy(2))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contacts, CONTACTS);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, PAGES);
+    }
+
+    private record ContactKey(Long userId, Long contactId) {
+    }
+
+    private record PageKey(Long userId, long generation, Pageable pageable) {
+    }
+
+    public ContactDTO getContact(Long userId, Long contactId, Supplier<ContactDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return copy(contacts.get(new ContactKey(userId, contactId), key -> loader.get()));
+    }
+
+    public Page<ContactDTO> getPage(Long userId, Pageable pageable, Supplier<Page<ContactDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // Read the generation before loading: a write that commits mid-load moves it on
+        return pages.get(new PageKey(userId, generation(userId), pageable), key -> loader.get())
+                .map(ContactCache::copy);
+    }
+
+    /**
+     * Drop one contact and every list page of its owner.
+     */
+    public void evictContact(Long userId, Long contactId) {
+        ContactKey key = new ContactKey(userId, contactId);
+        AfterCommit.runNowAndAgain(() -> {
+            contacts.invalidate(key);
+            bumpGeneration(userId);
+        });
+    }
+
+    /**
+     * Drop every list page of a user, e.g. after a contact was added.
+     */
+    public void evictPages(Long userId) {
+        AfterCommit.runNowAndAgain(() -> bumpGeneration(userId));
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId, id -> nextGeneration.incrementAndGet());
+    }
+
+    private void bumpGeneration(Long userId) {
+        generations.put(userId, nextGeneration.incrementAndGet());
+    }
+
+    private static ContactDTO copy(ContactDTO contact) {
+        if (contact == null) {
+            return null;
+        }
+        ContactDTO copy = new ContactDTO();
+        copy.setId(contact.getId());
+        copy.setFirstName(contact.getFirstName());
+        copy.setLastName(contact.getLastName());
+        copy.setTitle(contact.getTitle());
+        copy.setProfileImage(contact.getProfileImage());
+        copy.setIsFavorite(contact.getIsFavorite());
+        copy.setTags(contact.getTags() == null ? null : new ArrayList<>(contact.getTags()));
+        copy.setEmailAddresses(contact.getEmailAddresses() == null ? null
+                : contact.getEmailAddresses().stream().map(email -> {
+                    EmailDTO emailCopy = new EmailDTO();
+                    emailCopy.setId(email.getId());
+                    emailCopy.setEmail(email.getEmail());
+                    emailCopy.setLabel(email.getLabel());
+                    return emailCopy;
+                }).collect(Collectors.toCollection(ArrayList::new)));
+        copy.setPhoneNumbers(contact.getPhoneNumbers() == null ? null
+                : contact.getPhoneNumbers().stream().map(phone -> {
+                    PhoneDTO phoneCopy = new PhoneDTO();
+                    phoneCopy.setId(phone.getId());
+                    phoneCopy.setPhone(phone.getPhone());
+                    phoneCopy.setLabel(phone.getLabel());
+                    return phoneCopy;
+                }).collect(Collectors.toCollection(ArrayList::new)));
+        return copy;
+    }
+}
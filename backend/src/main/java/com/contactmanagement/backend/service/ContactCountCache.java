@@ -0,0 +1,54 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.ContactCountCacheProperties;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user contact counts, so paging clients that want a total do not pay for a COUNT query
+ * on every request.
+ *
+ * Counts are loaded on demand and dropped whenever the user's contacts are added or removed,
+ * now and again after the transaction commits, so a concurrent reader cannot re-cache a count
+ * from before the write. Published as cache.* metrics with tag cache=contact-counts.
+ */
+@Component
+public class ContactCountCache {
+
+    private static final String CACHE_NAME = "contact-counts";
+
+    private final ContactRepository contactRepository;
+    private final ContactCountCacheProperties properties;
+    private final Cache<Long, Long> cache;
+
+    public ContactCountCache(ContactRepository contactRepository, ContactCountCacheProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.contactRepository = contactRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public long get(Long userId) {
+        if (!properties.isEnabled()) {
+            return contactRepository.countByUserId(userId);
+        }
+        return cache.get(userId, contactRepository::countByUserId);
+    }
+
+    /**
+     * Drop the cached count of a user whose contacts were added or removed.
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.runNowAndAgain(() -> cache.invalidate(userId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination: the sort key and the (value, id) of the last row served.
+ * Encoded as URL-safe base64 of {@code sortBy:id:value}; the value goes last so it may contain ':'.
+ */
+record ContactCursor(String sortBy, Long lastId, String lastValue) {
+
+    String encode() {
+        String raw = sortBy + ":" + lastId + ":" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ContactCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new ContactCursor(parts[0], Long.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.projection.ContactRow;
+import com.contactmanagement.backend.repository.projection.EmailRow;
+import com.contactmanagement.backend.repository.projection.PhoneRow;
+import com.contactmanagement.backend.repository.projection.TagRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds full contact DTOs from contact rows with one query per child table, however many rows
+ * there are. Shared by the paged reads and the exports.
+ */
+final class ContactDtoAssembler {
+
+    private final ContactRepository contactRepository;
+
+    ContactDtoAssembler(ContactRepository contactRepository) {
+        this.contactRepository = contactRepository;
+    }
+
+    /**
+     * @param imageUrl maps a stored image hash to the URL returned to clients
+     */
+    List<ContactDTO> toDTOs(List<ContactRow> rows, Function<String, String> imageUrl) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Long> ids = rows.stream().map(ContactRow::id).toList();
+        Map<Long, List<PhoneDTO>> phonesByContact = new HashMap<>();
+        for (PhoneRow row : contactRepository.findPhoneRowsByContactIdIn(ids)) {
+            PhoneDTO phoneDTO = new PhoneDTO();
+            phoneDTO.setId(row.id());
+            phoneDTO.setPhone(row.phone());
+            phoneDTO.setLabel(row.label());
+            phonesByContact.computeIfAbsent(row.contactId(), id -> new ArrayList<>()).add(phoneDTO);
+        }
+        Map<Long, List<EmailDTO>> emailsByContact = new HashMap<>();
+        for (EmailRow row : contactRepository.findEmailRowsByContactIdIn(ids)) {
+            EmailDTO emailDTO = new EmailDTO();
+            emailDTO.setId(row.id());
+            emailDTO.setEmail(row.email());
+            emailDTO.setLabel(row.label());
+            emailsByContact.computeIfAbsent(row.contactId(), id -> new ArrayList<>()).add(emailDTO);
+        }
+        Map<Long, List<String>> tagsByContact = new HashMap<>();
+        for (TagRow row : contactRepository.findTagRowsByContactIdIn(ids)) {
+            tagsByContact.computeIfAbsent(row.contactId(), id -> new ArrayList<>()).add(row.tag());
+        }
+        
+        return rows.stream().map(row -> {
+            ContactDTO dto = new ContactDTO();
+            dto.setId(row.id());
+            dto.setFirstName(row.firstName());
+            dto.setLastName(row.lastName());
+            dto.setTitle(row.title());
+            dto.setProfileImage(imageUrl.apply(row.profileImageHash()));
+            dto.setIsFavorite(Boolean.TRUE.equals(row.isFavorite()));
+            dto.setPhoneNumbers(phonesByContact.getOrDefault(row.id(), List.of()));
+            dto.setEmailAddresses(emailsByContact.getOrDefault(row.id(), List.of()));
+            dto.setTags(tagsByContact.getOrDefault(row.id(), List.of()));
+            return dto;
+        }).toList();
+    }
+}
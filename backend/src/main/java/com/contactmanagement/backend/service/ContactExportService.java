@@ -0,0 +1,172 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.ContactExportProperties;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.projection.ContactRow;
+import com.contactmanagement.backend.security.SecurityUtils;
+import com.contactmanagement.backend.util.VCards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streams a user's whole contact book.
+ *
+ * Contacts are read in pages of {@code contacts.export.batch-size}, each continuing after the last
+ * (first name, id) of the one before, so every page is an index range scan. A page and its child
+ * rows are loaded in a short read-only transaction that ends before the page is written out. No
+ * result set stays open while other queries run, and a slow client holds no pooled connection
+ * while it reads. Memory stays at one page whatever the size of the contact book.
+ *
+ * Each page is consistent on its own, but the export as a whole is not a snapshot: a contact
+ * renamed during the download may appear twice or not at all.
+ */
+@Service
+public class ContactExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactExportService.class);
+
+    private static final String COLUMNS = "SELECT id, first_name, last_name, title, profile_image_hash, is_favorite ";
+
+    private static final String FIRST_PAGE =
+            COLUMNS + "FROM contacts WHERE user_id = ? ORDER BY first_name, id";
+
+    private static final String NEXT_PAGE =
+            COLUMNS + "FROM contacts WHERE user_id = ? AND (first_name > ? OR (first_name = ? AND id > ?)) " +
+            "ORDER BY first_name, id";
+
+    private static final RowMapper<ContactRow> CONTACT_ROW = (rs, rowNum) -> new ContactRow(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("title"),
+            rs.getString("profile_image_hash"),
+            rs.getObject("is_favorite", Boolean.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ContactDtoAssembler dtoAssembler;
+    private final SecurityUtils securityUtils;
+    private final ImageService imageService;
+    private final ObjectWriter jsonWriter;
+    private final int batchSize;
+
+    public ContactExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                ContactRepository contactRepository, SecurityUtils securityUtils,
+                                ImageService imageService, ObjectMapper objectMapper,
+                                ContactExportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getBatchSize());
+        this.jdbcTemplate.setMaxRows(properties.getBatchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.dtoAssembler = new ContactDtoAssembler(contactRepository);
+        this.securityUtils = securityUtils;
+        this.imageService = imageService;
+        this.jsonWriter = objectMapper.writerFor(ContactDTO.class);
+        this.batchSize = properties.getBatchSize();
+    }
+
+    /**
+     * Batch of contacts ready to be written out.
+     */
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(List<ContactDTO> contacts) throws IOException;
+    }
+
+    /**
+     * All contacts of the current user as newline-delimited JSON, one ContactDTO per line.
+     * The user and image URL prefix are resolved now; the body is written later, off the request thread.
+     */
+    public StreamingResponseBody exportNdjson() {
+        return export((contacts, out) -> {
+            for (ContactDTO contact : contacts) {
+                out.write(jsonWriter.writeValueAsBytes(contact));
+                out.write('\n');
+            }
+        });
+    }
+
+    /**
+     * All contacts of the current user as vCard 4.0 cards, with the same batching as {@link #exportNdjson()}.
+     */
+    public StreamingResponseBody exportVCard() {
+        return export((contacts, out) -> {
+            StringBuilder cards = new StringBuilder(contacts.size() * 256);
+            for (ContactDTO contact : contacts) {
+                VCards.write(contact, cards);
+            }
+            out.write(cards.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    private StreamingResponseBody export(Encoder encoder) {
+        Long userId = securityUtils.getCurrentUserId();
+        String imageBaseUrl = imageService.baseUrl();
+        Function<String, String> imageUrl = hash -> hash == null ? null : imageBaseUrl + hash;
+        return out -> {
+            long started = System.nanoTime();
+            long count = forEachBatch(userId, imageUrl, contacts -> {
+                encoder.encode(contacts, out);
+                out.flush();
+            });
+            logger.info("Exported {} contacts for user {} in {} ms",
+                    count, userId, (System.nanoTime() - started) / 1_000_000);
+        };
+    }
+
+    /**
+     * Walk all contacts of a user page by page and hand each page over once its transaction is done.
+     *
+     * @return number of contacts written
+     */
+    private long forEachBatch(Long userId, Function<String, String> imageUrl, BatchWriter writer) throws IOException {
+        long written = 0;
+        ContactRow last = null;
+        while (true) {
+            ContactRow after = last;
+            List<ContactRow> page = new ArrayList<>(batchSize);
+            // The page is read to the end before the child queries run, then the connection goes back
+            List<ContactDTO> contacts = readOnlyTransaction.execute(status -> {
+                page.addAll(after == null
+                        ? jdbcTemplate.query(FIRST_PAGE, CONTACT_ROW, userId)
+                        : jdbcTemplate.query(NEXT_PAGE, CONTACT_ROW, userId, after.firstName(), after.firstName(), after.id()));
+                return dtoAssembler.toDTOs(page, imageUrl);
+            });
+            if (page.isEmpty()) {
+                return written;
+            }
+            writer.write(contacts);
+            written += page.size();
+            if (page.size() < batchSize) {
+                return written;
+            }
+            last = page.get(page.size() - 1);
+        }
+    }
+
+    /**
+     * Serializes one batch of contacts to the response.
+     */
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(List<ContactDTO> contacts, OutputStream out) throws IOException;
+    }
+}
@@ -1,21 +1,48 @@
 package com.contactmanagement.backend.service;
 
+import com.contactmanagement.backend.config.ContactSyncProperties;
+import com.contactmanagement.backend.dto.ContactChanges;
 import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSuggestionDTO;
+import com.contactmanagement.backend.dto.ContactSummaryDTO;
+import com.contactmanagement.backend.dto.CursorPage;
+import com.contactmanagement.backend.dto.SliceResponse;
 import com.contactmanagement.backend.dto.EmailDTO;
 import com.contactmanagement.backend.dto.PhoneDTO;
 import com.contactmanagement.backend.entity.*;
+import com.contactmanagement.backend.exception.BadRequestException;
 import com.contactmanagement.backend.exception.CustomException;
+import com.contactmanagement.backend.exception.GoneException;
 import com.contactmanagement.backend.exception.ResourceNotFoundException;
 import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.ContactTombstoneRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.repository.projection.ChangeKey;
+import com.contactmanagement.backend.repository.projection.ContactRow;
+import com.contactmanagement.backend.repository.projection.ContactSummaryRow;
+import com.contactmanagement.backend.search.ContactSearchIndex;
 import com.contactmanagement.backend.security.SecurityUtils;
+import com.contactmanagement.backend.util.SearchKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service class for managing contact operations.
@@ -26,52 +53,288 @@ public class ContactService {
     
     private static final Logger logger = LoggerFactory.getLogger(ContactService.class);
     private static final String CONTACT_NOT_FOUND = "Contact not found";
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
     
     private final ContactRepository contactRepository;
+    private final ContactTombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
+    private final ImageService imageService;
+    private final ContactDtoAssembler dtoAssembler;
+    private final ContactCountCache contactCountCache;
+    private final ContactCache contactCache;
+    private final ContactSyncProperties syncProperties;
+    private final ContactSearchIndex searchIndex;
     
-    public ContactService(ContactRepository contactRepository, SecurityUtils securityUtils) {
+    public ContactService(ContactRepository contactRepository, ContactTombstoneRepository tombstoneRepository,
+                          UserRepository userRepository, SecurityUtils securityUtils, ImageService imageService,
+                          ContactCountCache contactCountCache, ContactCache contactCache,
+                          ContactSyncProperties syncProperties, ContactSearchIndex searchIndex) {
         this.contactRepository = contactRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.userRepository = userRepository;
         this.securityUtils = securityUtils;
+        this.imageService = imageService;
+        this.dtoAssembler = new ContactDtoAssembler(contactRepository);
+        this.contactCountCache = contactCountCache;
+        this.contactCache = contactCache;
+        this.syncProperties = syncProperties;
+        this.searchIndex = searchIndex;
     }
     
+    /**
+     * List reads select straight into projections. Read-only transactions run with
+     * Hibernate flushing disabled, and no entities are loaded, so there is nothing to dirty-check.
+     * Pages are cached per user until the next write.
+     */
+    @Transactional(readOnly = true)
     public Page<ContactDTO> getAllContacts(Pageable pageable) {
-        User user = securityUtils.getCurrentUser();
-        Page<Contact> contacts = contactRepository.findByUserId(user.getId(), pageable);
-        return contacts.map(this::convertToDTO);
+        Long userId = securityUtils.getCurrentUserId();
+        return contactCache.getPage(userId, pageable,
+                () -> toDTOPage(contactRepository.findRowsByUserId(userId, pageable)));
     }
     
+    /**
+     * Matches come from the in-memory search index, which also looks at emails, phone numbers and
+     * tags; only the page served is read from the database. With the index disabled this falls
+     * back to a prefix query on the indexed search keys.
+     *
+     * The two do not match the same way: the index finds the query anywhere in a value ("mith"
+     * finds Smith), the database fallback only at the start of the name, last name, title, an email,
+     * a phone number's digits or a tag ("smi" finds Smith, "mith" does not).
+     *
+     * @throws BadRequestException if the query is null or blank
+     */
+    @Transactional(readOnly = true)
     public Page<ContactDTO> searchContacts(String search, Pageable pageable) {
-        User user = securityUtils.getCurrentUser();
-        Page<Contact> contacts = contactRepository.searchContacts(user.getId(), search, pageable);
-        return contacts.map(this::convertToDTO);
+        requireQuery(search);
+        Long userId = securityUtils.getCurrentUserId();
+        if (!searchIndex.isEnabled()) {
+            return toDTOPage(contactRepository.searchContactRows(userId, searchPrefix(search),
+                    phonePrefix(search), pageable));
+        }
+        List<Long> ids = searchIndex.search(userId, search, pageable.getSort());
+        return new PageImpl<>(hydrate(userId, pageOf(ids, pageable)), pageable, ids.size());
     }
     
-    public ContactDTO getContactById(Long contactId) {
-        User user = securityUtils.getCurrentUser();
-        @SuppressWarnings("null")
-        Contact contact = contactRepository.findById(contactId)
-                .orElseThrow(() -> new ResourceNotFoundException(CONTACT_NOT_FOUND));
+    /**
+     * Typo-tolerant search, most relevant first. Needs the search index; with it disabled this is
+     * the ordinary search.
+     */
+    @Transactional(readOnly = true)
+    public Page<ContactDTO> fuzzySearchContacts(String search, Pageable pageable) {
+        requireQuery(search);
+        if (!searchIndex.isEnabled()) {
+            return searchContacts(search, pageable);
+        }
+        Long userId = securityUtils.getCurrentUserId();
+        List<Long> ids = searchIndex.searchFuzzy(userId, search);
+        return new PageImpl<>(hydrate(userId, pageOf(ids, pageable)), pageable, ids.size());
+    }
+    
+    /**
+     * Typeahead suggestions, favorites first. Served from the search index once it is built;
+     * with the index disabled, from the database prefix query.
+     */
+    @Transactional(readOnly = true)
+    public List<ContactSuggestionDTO> suggestContacts(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        Long userId = securityUtils.getCurrentUserId();
+        if (searchIndex.isEnabled()) {
+            return searchIndex.suggest(userId, prefix, limit);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        Pageable pageable = PageRequest.of(0, limit,
+                Sort.by(Sort.Order.desc("isFavorite"), Sort.Order.asc("firstName"), Sort.Order.asc("lastName")));
+        return contactRepository.searchContactRowSlice(userId, searchPrefix(prefix), phonePrefix(prefix), pageable)
+                .map(row -> new ContactSuggestionDTO(row.id(),
+                        (row.firstName() + " " + (row.lastName() == null ? "" : row.lastName())).trim(),
+                        Boolean.TRUE.equals(row.isFavorite())))
+                .getContent();
+    }
+    
+    /**
+     * Page of contacts without the COUNT query; the total is only added on request,
+     * from the per-user count cache.
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<ContactDTO> getContactSlice(Pageable pageable, boolean includeCount) {
+        Long userId = securityUtils.getCurrentUserId();
+        Slice<ContactRow> rows = contactRepository.findRowSliceByUserId(userId, pageable);
+        Long total = includeCount ? contactCountCache.get(userId) : null;
+        return toSliceResponse(rows, total);
+    }
+    
+    /**
+     * Search without the COUNT query, which for a substring match costs as much as the search itself.
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<ContactDTO> searchContactSlice(String search, Pageable pageable) {
+        requireQuery(search);
+        Long userId = securityUtils.getCurrentUserId();
+        if (!searchIndex.isEnabled()) {
+            return toSliceResponse(contactRepository.searchContactRowSlice(userId, searchPrefix(search),
+                    phonePrefix(search), pageable), null);
+        }
+        List<Long> ids = searchIndex.search(userId, search, pageable.getSort());
+        return new SliceResponse<>(hydrate(userId, pageOf(ids, pageable)), pageable.getPageNumber(),
+                pageable.getPageSize(), pageable.getOffset() + pageable.getPageSize() < ids.size(), null);
+    }
+    
+    /**
+     * Entity tag of the user's contact lists, from the contact-book version every write bumps.
+     * Carries the user id, so a tag a browser cached for one account never matches another's.
+     * A single-column read, so conditional requests are answered without touching contacts.
+     */
+    @Transactional(readOnly = true)
+    public String getContactsETag() {
+        Long userId = securityUtils.getCurrentUserId();
+        long version = userRepository.findContactsVersionById(userId).orElse(0L);
+        return "\"" + userId + "-" + version + "\"";
+    }
+    
+    /**
+     * Entity tag of one contact, from its version column; empty when the contact does not
+     * exist or belongs to someone else.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findContactETag(Long contactId) {
+        return contactRepository.findVersionByIdAndUserId(contactId, securityUtils.getCurrentUserId())
+                .map(version -> "\"c" + contactId + "-" + version + "\"");
+    }
+    
+    /**
+     * Contacts written and deleted since a sync cursor, in change order; all contacts when
+     * {@code since} is empty. Each call covers at most {@code contacts.sync.max-changes} contacts.
+     *
+     * The upper bound is fixed before reading, so a write that commits meanwhile is left for the
+     * next call rather than half-included. A contact deleted while the response is built may show
+     * up both as an upsert and a deletion; clients apply upserts first.
+     */
+    @Transactional(readOnly = true)
+    public ContactChanges getChanges(String since) {
+        SyncCursor from = since == null || since.isBlank() ? null : SyncCursor.decode(since);
+        long now = System.currentTimeMillis();
+        if (from != null && from.issuedAt() < now - syncProperties.getTombstoneRetention().toMillis()) {
+            throw new GoneException("Sync cursor expired, reload all contacts");
+        }
         
-        if (!contact.getUser().getId().equals(user.getId())) {
-            throw new CustomException("Access denied");
+        Long userId = securityUtils.getCurrentUserId();
+        // Contacts not written since change tracking began carry sequence 0 and are paged by id
+        long afterSeq = from != null ? from.changeSeq() : -1;
+        long afterId = from != null ? from.contactId() : SyncCursor.ALL_IDS;
+        long current = userRepository.findContactsVersionById(userId).orElse(0L);
+        int max = syncProperties.getMaxChanges();
+        List<ChangeKey> keys = contactRepository.findChangeKeysAfter(userId, afterSeq, afterId, Limit.of(max + 1));
+        boolean hasMore = keys.size() > max;
+        long untilSeq = hasMore ? keys.get(max - 1).changeSeq() : Math.max(current, afterSeq);
+        long untilId = hasMore ? keys.get(max - 1).id() : SyncCursor.ALL_IDS;
+        
+        List<ContactDTO> upserts = toDTOs(contactRepository.findRowsChangedBetween(userId, afterSeq, afterId, untilSeq, untilId));
+        // Every deletion takes a sequence of its own, so sequences alone bound them
+        List<Long> deletions = tombstoneRepository.findContactIdsDeletedBetween(userId, afterSeq, untilSeq);
+        // Deletions after an unfinished catch-up may predate this call, so keep the older time
+        long issuedAt = hasMore && from != null ? from.issuedAt() : now;
+        return new ContactChanges(upserts, deletions, new SyncCursor(untilSeq, untilId, issuedAt).encode(), hasMore);
+    }
+    
+    @Transactional(readOnly = true)
+    public long countContacts() {
+        return contactCountCache.get(securityUtils.getCurrentUserId());
+    }
+    
+    /**
+     * Names, favorite flag and an avatar link per contact. Reads only the contacts table and
+     * never loads profile images, so a page stays small regardless of image sizes.
+     */
+    @Transactional(readOnly = true)
+    public Page<ContactSummaryDTO> getContactSummaries(Pageable pageable) {
+        Long userId = securityUtils.getCurrentUserId();
+        return contactRepository.findSummariesByUserId(userId, pageable).map(this::convertToSummary);
+    }
+    
+    /**
+     * Cursor-based listing that seeks on (sort key, id) instead of using OFFSET,
+     * so deep pages cost the same as the first one. No total count is computed.
+     *
+     * @param cursor continuation token from the previous slice, or null for the first slice
+     * @param sortBy firstName or lastName; must match the sort the cursor was issued for
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ContactDTO> scrollContacts(String cursor, int size, String sortBy) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        if (!"firstName".equals(sortBy) && !"lastName".equals(sortBy)) {
+            throw new BadRequestException("Unsupported sort for cursor pagination: " + sortBy);
+        }
+        ContactCursor after = cursor == null || cursor.isBlank() ? null : ContactCursor.decode(cursor);
+        if (after != null && !after.sortBy().equals(sortBy)) {
+            throw new BadRequestException("Cursor was issued for a different sort");
+        }
+        
+        Long userId = securityUtils.getCurrentUserId();
+        // One extra row tells whether another slice follows
+        Limit limit = Limit.of(size + 1);
+        boolean byFirstName = "firstName".equals(sortBy);
+        List<ContactRow> rows;
+        if (after == null) {
+            rows = byFirstName
+                    ? contactRepository.findFirstRowsByFirstName(userId, limit)
+                    : contactRepository.findFirstRowsByLastName(userId, limit);
+        } else {
+            rows = byFirstName
+                    ? contactRepository.findRowsAfterFirstName(userId, after.lastValue(), after.lastId(), limit)
+                    : contactRepository.findRowsAfterLastName(userId, after.lastValue(), after.lastId(), limit);
         }
         
-        return convertToDTO(contact);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            ContactRow last = rows.get(rows.size() - 1);
+            nextCursor = new ContactCursor(sortBy, last.id(), byFirstName ? last.firstName() : last.lastName()).encode();
+        }
+        return new CursorPage<>(toDTOs(rows), nextCursor, hasNext);
+    }
+    
+    @Transactional(readOnly = true)
+    public ContactDTO getContactById(Long contactId) {
+        Long userId = securityUtils.getCurrentUserId();
+        return contactCache.getContact(userId, contactId, () -> {
+            @SuppressWarnings("null")
+            Contact contact = contactRepository.findById(contactId)
+                    .orElseThrow(() -> new ResourceNotFoundException(CONTACT_NOT_FOUND));
+            
+            if (!contact.getUser().getId().equals(userId)) {
+                throw new CustomException("Access denied");
+            }
+            
+            return convertToDTO(contact);
+        });
     }
     
     @Transactional
     public ContactDTO createContact(ContactDTO contactDTO) {
         logger.info("Creating new contact");
         
-        User user = securityUtils.getCurrentUser();
+        // Reference proxy: the insert only needs the user id
+        User user = securityUtils.getCurrentUserReference();
+        Long userId = securityUtils.getCurrentUserId();
         
         Contact contact = new Contact();
         contact.setUser(user);
         contact.setFirstName(contactDTO.getFirstName());
         contact.setLastName(contactDTO.getLastName());
         contact.setTitle(contactDTO.getTitle());
-        contact.setProfileImage(contactDTO.getProfileImage());
+        contact.setProfileImageHash(imageService.resolveHash(contactDTO.getProfileImage()));
         contact.setTags(contactDTO.getTags() != null ? contactDTO.getTags() : new ArrayList<>());
         contact.setIsFavorite(contactDTO.getIsFavorite() != null && contactDTO.getIsFavorite());
         
@@ -97,22 +360,27 @@ public class ContactService {
             });
         }
         
+        contact.setChangeSeq(nextChangeSeq(userId));
         Contact savedContact = contactRepository.save(contact);
+        contactCountCache.invalidate(userId);
+        contactCache.evictPages(userId);
         logger.info("Contact created with ID: {}", savedContact.getId());
         
-        return convertToDTO(savedContact);
+        ContactDTO created = convertToDTO(savedContact);
+        searchIndex.put(userId, created);
+        return created;
     }
     
     @Transactional
     public ContactDTO updateContact(Long contactId, ContactDTO contactDTO) {
         logger.info("Updating contact ID: {}", contactId);
         
-        User user = securityUtils.getCurrentUser();
-        @SuppressWarnings("null")
-        Contact contact = contactRepository.findById(contactId)
+        Long userId = securityUtils.getCurrentUserId();
+        long changeSeq = nextChangeSeq(userId);
+        Contact contact = contactRepository.findForUpdateById(contactId)
                 .orElseThrow(() -> new ResourceNotFoundException(CONTACT_NOT_FOUND));
         
-        if (!contact.getUser().getId().equals(user.getId())) {
+        if (!contact.getUser().getId().equals(userId)) {
             throw new CustomException("Access denied");
         }
         
@@ -122,7 +390,7 @@ public class ContactService {
         
         // Update profile image only if provided
         if (contactDTO.getProfileImage() != null && !contactDTO.getProfileImage().isEmpty()) {
-            contact.setProfileImage(contactDTO.getProfileImage());
+            contact.setProfileImageHash(imageService.resolveHash(contactDTO.getProfileImage()));
         }
         
         // Update tags
@@ -159,10 +427,14 @@ public class ContactService {
             });
         }
         
+        contact.setChangeSeq(changeSeq);
         Contact updatedContact = contactRepository.save(contact);
+        contactCache.evictContact(userId, contactId);
         logger.info("Contact updated successfully");
         
-        return convertToDTO(updatedContact);
+        ContactDTO updated = convertToDTO(updatedContact);
+        searchIndex.put(userId, updated);
+        return updated;
     }
     
     @SuppressWarnings("null")
@@ -170,15 +442,25 @@ public class ContactService {
     public void deleteContact(Long contactId) {
         logger.info("Deleting contact ID: {}", contactId);
         
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
+        long changeSeq = nextChangeSeq(userId);
         Contact contact = contactRepository.findById(contactId)
                 .orElseThrow(() -> new ResourceNotFoundException(CONTACT_NOT_FOUND));
         
-        if (!contact.getUser().getId().equals(user.getId())) {
+        if (!contact.getUser().getId().equals(userId)) {
             throw new CustomException("Access denied");
         }
         
         contactRepository.delete(contact);
+        ContactTombstone tombstone = new ContactTombstone();
+        tombstone.setUserId(userId);
+        tombstone.setContactId(contactId);
+        tombstone.setChangeSeq(changeSeq);
+        tombstone.setDeletedAt(Instant.now());
+        tombstoneRepository.save(tombstone);
+        contactCountCache.invalidate(userId);
+        contactCache.evictContact(userId, contactId);
+        searchIndex.remove(userId, contactId);
         logger.info("Contact deleted successfully");
     }
     
@@ -187,21 +469,116 @@ public class ContactService {
     public ContactDTO toggleFavorite(Long contactId) {
         logger.info("Toggling favorite for contact ID: {}", contactId);
         
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
+        long changeSeq = nextChangeSeq(userId);
         Contact contact = contactRepository.findById(contactId)
                 .orElseThrow(() -> new ResourceNotFoundException(CONTACT_NOT_FOUND));
         
-        if (!contact.getUser().getId().equals(user.getId())) {
+        if (!contact.getUser().getId().equals(userId)) {
             throw new CustomException("Access denied");
         }
         
         // Handle null isFavorite by treating it as false
         Boolean currentFavorite = contact.getIsFavorite() != null && contact.getIsFavorite();
         contact.setIsFavorite(!currentFavorite);
+        contact.setChangeSeq(changeSeq);
         Contact updatedContact = contactRepository.save(contact);
+        contactCache.evictContact(userId, contactId);
         logger.info("Contact favorite status updated to: {}", updatedContact.getIsFavorite());
         
-        return convertToDTO(updatedContact);
+        ContactDTO updated = convertToDTO(updatedContact);
+        searchIndex.put(userId, updated);
+        return updated;
+    }
+    
+    /**
+     * Bump the user's contact-book version and return it; it stamps the written contact or
+     * tombstone for delta sync. The increment locks the user row until commit, so sequences
+     * become visible in the order they were taken.
+     *
+     * Updates, toggles and deletes call this before loading the contact: concurrent writes to one
+     * book then run one after the other, each reading the contact as the previous one left it,
+     * instead of racing on its {@code @Version} and failing the later commit.
+     */
+    private long nextChangeSeq(Long userId) {
+        userRepository.incrementContactsVersion(userId);
+        return userRepository.findContactsVersionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+    
+    /**
+     * Drop tombstones past the retention; sync cursors that would still need them are refused.
+     */
+    @Scheduled(fixedDelayString = "${contacts.sync.purge-interval:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        Instant cutoff = Instant.now().minus(syncProperties.getTombstoneRetention());
+        int purged = tombstoneRepository.deleteDeletedBefore(cutoff);
+        if (purged > 0) {
+            logger.info("Purged {} contact tombstones", purged);
+        }
+    }
+    
+    private SliceResponse<ContactDTO> toSliceResponse(Slice<ContactRow> rows, Long totalElements) {
+        return new SliceResponse<>(toDTOs(rows.getContent()), rows.getNumber(), rows.getSize(),
+                rows.hasNext(), totalElements);
+    }
+    
+    private Page<ContactDTO> toDTOPage(Page<ContactRow> rows) {
+        return new PageImpl<>(toDTOs(rows.getContent()), rows.getPageable(), rows.getTotalElements());
+    }
+    
+    private static void requireQuery(String search) {
+        if (search == null || search.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+    }
+    
+    private static String searchPrefix(String search) {
+        return SearchKeys.likePrefix(SearchKeys.text(search));
+    }
+    
+    private static String phonePrefix(String search) {
+        String digits = SearchKeys.phoneQuery(search);
+        return digits == null ? null : digits + "%";
+    }
+    
+    private static List<Long> pageOf(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        return ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+    }
+    
+    /**
+     * Load the given contacts in the given order; ids deleted since they were matched are left out.
+     */
+    private List<ContactDTO> hydrate(Long userId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> position = new HashMap<>();
+        ids.forEach(id -> position.put(id, position.size()));
+        List<ContactRow> rows = new ArrayList<>(contactRepository.findRowsByUserIdAndIdIn(userId, ids));
+        rows.sort(Comparator.comparing(row -> position.get(row.id())));
+        return toDTOs(rows);
+    }
+    
+    /**
+     * Assemble DTOs for projected rows, in row order. Child collections come from one flat row query
+     * each, grouped by contact id in memory; nothing here is attached to the persistence context.
+     */
+    private List<ContactDTO> toDTOs(List<ContactRow> rows) {
+        return dtoAssembler.toDTOs(rows, imageService::urlFor);
+    }
+    
+    private ContactSummaryDTO convertToSummary(ContactSummaryRow row) {
+        ContactSummaryDTO dto = new ContactSummaryDTO();
+        dto.setId(row.id());
+        dto.setFirstName(row.firstName());
+        dto.setLastName(row.lastName());
+        dto.setTitle(row.title());
+        dto.setIsFavorite(Boolean.TRUE.equals(row.isFavorite()));
+        dto.setAvatarUrl(imageService.urlFor(row.profileImageHash()));
+        return dto;
     }
     
     private ContactDTO convertToDTO(Contact contact) {
@@ -210,7 +587,7 @@ public class ContactService {
         dto.setFirstName(contact.getFirstName());
         dto.setLastName(contact.getLastName());
         dto.setTitle(contact.getTitle());
-        dto.setProfileImage(contact.getProfileImage());
+        dto.setProfileImage(imageService.urlFor(contact.getProfileImageHash()));
         dto.setTags(contact.getTags());
         dto.setIsFavorite(contact.getIsFavorite() != null && contact.getIsFavorite());
         
@@ -0,0 +1,178 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.BlobStorageProperties;
+import com.contactmanagement.backend.exception.BadRequestException;
+import com.contactmanagement.backend.storage.BlobStore;
+import com.contactmanagement.backend.util.DataUrls;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Contact profile images, kept in the {@link BlobStore} and referenced from contacts by content hash.
+ *
+ * Clients upload images as base64 data URLs and get back a URL under {@value #IMAGE_PATH}.
+ * Sending that URL back unchanged keeps the current image. New uploads get thumbnails generated
+ * in the background by {@link ThumbnailService}; {@code ?size=} on the URL picks one.
+ */
+@Service
+public class ImageService {
+
+    public static final String IMAGE_PATH = "/api/images/";
+
+    private static final Pattern IMAGE_URL = Pattern.compile(".*" + IMAGE_PATH + "([0-9a-f]{64})(?:[?#].*)?");
+
+    private final BlobStore blobStore;
+    private final BlobStorageProperties properties;
+    private final ThumbnailService thumbnailService;
+
+    public ImageService(BlobStore blobStore, BlobStorageProperties properties, ThumbnailService thumbnailService) {
+        this.blobStore = blobStore;
+        this.properties = properties;
+        this.thumbnailService = thumbnailService;
+    }
+
+    /**
+     * Stored image or thumbnail, with its media type sniffed from the content.
+     *
+     * @param etag      entity tag, distinct per variant
+     * @param immutable whether the same request will always get this content; false while a
+     *                  requested thumbnail is still being generated and the original is served instead
+     */
+    public record StoredImage(String etag, Path path, String mediaType, boolean immutable) {
+    }
+
+    /**
+     * Resolve a profile image value from a client to a content hash, storing new uploads.
+     *
+     * @param value data URL of a new image, or the URL of an already stored image
+     * @return the content hash, or null if the value is null or blank
+     * @throws BadRequestException if the value is not an acceptable image
+     */
+    public String resolveHash(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        if (DataUrls.isDataUrl(value)) {
+            DataUrls.Decoded decoded = DataUrls.decode(value);
+            if (decoded == null) {
+                throw new BadRequestException("Profile image is not a valid base64 data URL");
+            }
+            return store(decoded.bytes());
+        }
+        Matcher matcher = IMAGE_URL.matcher(value.trim());
+        if (matcher.matches() && blobStore.find(matcher.group(1)).isPresent()) {
+            return matcher.group(1);
+        }
+        throw new BadRequestException("Profile image must be an uploaded image");
+    }
+
+    /**
+     * Store raw image bytes after checking size and format.
+     *
+     * @return the content hash
+     */
+    public String store(byte[] bytes) {
+        if (bytes.length > properties.getMaxImageBytes()) {
+            throw new BadRequestException("Profile image exceeds " + properties.getMaxImageBytes() + " bytes");
+        }
+        if (detectMediaType(bytes) == null) {
+            throw new BadRequestException("Profile image must be PNG, JPEG, GIF or WebP");
+        }
+        String hash = blobStore.store(bytes);
+        thumbnailService.schedule(hash);
+        return hash;
+    }
+
+    /**
+     * Find an image, or its smallest thumbnail covering {@code size} pixels when a size is given.
+     */
+    public Optional<StoredImage> find(String hash, Integer size) {
+        Optional<Path> original = blobStore.find(hash);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+        if (size != null) {
+            Optional<ThumbnailService.Variant> variant = thumbnailService.findSmallestAtLeast(hash, size);
+            if (variant.isPresent()) {
+                Path path = variant.get().path();
+                return Optional.of(new StoredImage(hash + "-" + variant.get().size(), path, mediaTypeOf(path), true));
+            }
+        }
+        boolean immutable = size == null || thumbnailService.isComplete(hash);
+        return Optional.of(new StoredImage(hash, original.get(), mediaTypeOf(original.get()), immutable));
+    }
+
+    /**
+     * Public URL of an image. Absolute when called during a request so browsers on another
+     * origin can load it directly; relative otherwise.
+     */
+    public String urlFor(String hash) {
+        return hash == null ? null : baseUrl() + hash;
+    }
+
+    /**
+     * Prefix that {@link #urlFor} puts in front of a hash. Work that runs off the request
+     * thread captures it up front to keep producing absolute URLs.
+     */
+    public String baseUrl() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return IMAGE_PATH;
+        }
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(IMAGE_PATH)
+                .toUriString();
+    }
+
+    /**
+     * Detect the image format from its magic bytes.
+     *
+     * @return the media type, or null if the content is not a supported image
+     */
+    static String detectMediaType(byte[] header) {
+        if (startsWith(header, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static String mediaTypeOf(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            String mediaType = detectMediaType(in.readNBytes(12));
+            return mediaType != null ? mediaType : "application/octet-stream";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for delta sync: the last (change sequence, contact id) a client has seen, and
+ * a time from which every deletion after that sequence is known to have its tombstone. Once
+ * tombstones that old may have been purged, the token is refused.
+ * Encoded as URL-safe base64 of {@code changeSeq:contactId:issuedAtMillis}; tokens issued before the
+ * id was added ({@code changeSeq:issuedAtMillis}) cover every contact up to their sequence.
+ */
+record SyncCursor(long changeSeq, long contactId, long issuedAt) {
+
+    /** Contact id of a cursor that covers every contact up to and including its sequence. */
+    static final long ALL_IDS = Long.MAX_VALUE;
+
+    String encode() {
+        String raw = changeSeq + ":" + contactId + ":" + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SyncCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            return switch (parts.length) {
+                case 2 -> new SyncCursor(Long.parseLong(parts[0]), ALL_IDS, Long.parseLong(parts[1]));
+                case 3 -> new SyncCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                default -> throw new BadRequestException("Invalid cursor");
+            };
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.ThumbnailProperties;
+import com.contactmanagement.backend.storage.BlobStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates fixed-size square avatar thumbnails next to stored images.
+ *
+ * Work runs on a small bounded pool, never on the request thread. Uploads schedule generation
+ * right after the original is stored; a request for a missing variant schedules it again, which
+ * covers images stored before this existed and work dropped while the queue was full.
+ * A variant is only produced when the original is larger than it, so the original is served
+ * for sizes it already satisfies. Formats ImageIO cannot decode (e.g. WebP) get no variants, and
+ * neither do images whose header declares more than {@code max-pixels}: the dimensions are read
+ * before decoding, since a small compressed file can expand to a canvas that exhausts the heap.
+ *
+ * Metrics: thumbnails.generated, thumbnails.rejected, thumbnails.oversized, thumbnails.failed and
+ * executor.* gauges tagged name=thumbnails.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final BlobStore blobStore;
+    private final List<Integer> sizes;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    /** Hashes whose variants are complete in this process, so lookups stop rescheduling them. */
+    private final Cache<String, Boolean> completed = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final Counter generated;
+    private final Counter rejected;
+    private final Counter oversized;
+    private final Counter failed;
+
+    public ThumbnailService(BlobStore blobStore, ThumbnailProperties properties, MeterRegistry meterRegistry) {
+        this.blobStore = blobStore;
+        this.sizes = properties.getSizes().stream().sorted().toList();
+        this.maxPixels = properties.getMaxPixels();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new NamedThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "thumbnails");
+        this.generated = Counter.builder("thumbnails.generated").register(meterRegistry);
+        this.rejected = Counter.builder("thumbnails.rejected")
+                .description("Thumbnail jobs dropped because the queue was full")
+                .register(meterRegistry);
+        this.oversized = Counter.builder("thumbnails.oversized")
+                .description("Images skipped because their declared dimensions exceed max-pixels")
+                .register(meterRegistry);
+        this.failed = Counter.builder("thumbnails.failed").register(meterRegistry);
+    }
+
+    /**
+     * Stored thumbnail of an image.
+     */
+    public record Variant(int size, Path path) {
+    }
+
+    /**
+     * Queue variant generation for an image. Returns immediately; a full queue drops the job.
+     */
+    public void schedule(String hash) {
+        if (completed.getIfPresent(hash) != null || !inFlight.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (Exception e) {
+                    failed.increment();
+                    logger.warn("Thumbnail generation failed for {}: {}", hash, e.getMessage());
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Smallest stored variant that is at least {@code requestedSize} pixels.
+     * Schedules generation when the image has not been processed yet.
+     */
+    public Optional<Variant> findSmallestAtLeast(String hash, int requestedSize) {
+        for (int size : sizes) {
+            if (size >= requestedSize) {
+                Optional<Path> path = blobStore.findVariant(hash, String.valueOf(size));
+                if (path.isPresent()) {
+                    return Optional.of(new Variant(size, path.get()));
+                }
+            }
+        }
+        schedule(hash);
+        return Optional.empty();
+    }
+
+    /**
+     * Whether all variants of the image have been produced, i.e. what is served for it will not change.
+     */
+    public boolean isComplete(String hash) {
+        return completed.getIfPresent(hash) != null;
+    }
+
+    void generate(String hash) throws IOException {
+        Optional<Path> original = blobStore.find(hash);
+        if (original.isEmpty()) {
+            return;
+        }
+        BufferedImage source = read(hash, original.get());
+        if (source != null) {
+            int side = Math.min(source.getWidth(), source.getHeight());
+            BufferedImage square = source.getSubimage(
+                    (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+            boolean alpha = source.getColorModel().hasAlpha();
+            for (int size : sizes) {
+                if (side > size && blobStore.findVariant(hash, String.valueOf(size)).isEmpty()) {
+                    blobStore.storeVariant(hash, String.valueOf(size), encode(scale(square, size, alpha), alpha));
+                    generated.increment();
+                }
+            }
+        }
+        completed.put(hash, Boolean.TRUE);
+    }
+
+    /**
+     * Decode the first image in the file; null if no reader supports it or it declares more than
+     * {@code maxPixels} pixels.
+     */
+    private BufferedImage read(String hash, Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    oversized.increment();
+                    logger.warn("Skipping thumbnails for {}: {} pixels exceeds the limit of {}", hash, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscale in halving steps before the final resize; a single bilinear step from a large
+     * original skips most source pixels and aliases badly.
+     */
+    private static BufferedImage scale(BufferedImage image, int size, boolean alpha) {
+        BufferedImage current = image;
+        int side = image.getWidth();
+        do {
+            side = Math.max(size, side / 2);
+            BufferedImage next = new BufferedImage(side, side, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, side, side, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (side > size);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, alpha ? "png" : "jpg", out)) {
+            throw new IOException("No ImageIO writer available");
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "thumbnails-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
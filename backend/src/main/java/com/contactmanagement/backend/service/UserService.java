@@ -4,14 +4,21 @@ import com.contactmanagement.backend.dto.*;
 import com.contactmanagement.backend.entity.User;
 import com.contactmanagement.backend.exception.CustomException;
 import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.repository.projection.UserIdentifiers;
+import com.contactmanagement.backend.security.JwtClaims;
 import com.contactmanagement.backend.security.JwtUtil;
+import com.contactmanagement.backend.security.PasswordHasher;
+import com.contactmanagement.backend.security.PrincipalCache;
 import com.contactmanagement.backend.security.SecurityUtils;
+import com.contactmanagement.backend.security.TokenRevocationList;
+import com.contactmanagement.backend.util.PhoneNumbers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Service class for user management operations.
  * Handles authentication, registration, profile updates, and account management.
@@ -22,42 +29,51 @@ public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
     private final SecurityUtils securityUtils;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
-                      JwtUtil jwtUtil, SecurityUtils securityUtils) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher, 
+                      JwtUtil jwtUtil, SecurityUtils securityUtils, PrincipalCache principalCache,
+                      TokenRevocationList tokenRevocationList) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
         this.securityUtils = securityUtils;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
     
     @Transactional
     public User registerUser(RegisterRequest request) {
         logger.info("Attempting to register user with email: {}", request.getEmail());
         
+        // Phone numbers are stored normalized so login lookups are exact matches
+        String phoneNumber = PhoneNumbers.normalize(request.getPhoneNumber());
+        
         // Validate that at least email or phone is provided
-        if (request.getEmail() == null && request.getPhoneNumber() == null) {
+        if (request.getEmail() == null && phoneNumber == null) {
             throw new CustomException("Either email or phone number must be provided");
         }
         
-        // Check if email already exists
-        if (request.getEmail() != null && userRepository.existsByEmail(request.getEmail())) {
+        // Check if email or phone number already exists (single query)
+        List<UserIdentifiers> conflicts =
+                userRepository.findIdentifiersByEmailOrPhoneNumber(request.getEmail(), phoneNumber);
+        if (request.getEmail() != null
+                && conflicts.stream().anyMatch(existing -> request.getEmail().equals(existing.email()))) {
             throw new CustomException("Email already registered");
         }
-        
-        // Check if phone number already exists
-        if (request.getPhoneNumber() != null && userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
+        if (!conflicts.isEmpty()) {
             throw new CustomException("Phone number already registered");
         }
         
         // Create new user
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPhoneNumber(request.getPhoneNumber());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPhoneNumber(phoneNumber);
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         
@@ -70,22 +86,36 @@ public class UserService {
     public LoginResponse login(LoginRequest request) {
         logger.info("Login attempt for username: {}", request.getUsername());
         
-        // Find user by email or phone
-        User user = userRepository.findByEmail(request.getUsername())
-                .orElseGet(() -> userRepository.findByPhoneNumber(request.getUsername())
-                        .orElseThrow(() -> new CustomException("Invalid username or password")));
+        // Find user by email or phone (single query)
+        User user = userRepository.findByIdentifier(request.getUsername())
+                .orElseThrow(() -> new CustomException("Invalid username or password"));
         
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             logger.warn("Failed login attempt for username: {}", request.getUsername());
             throw new CustomException("Invalid username or password");
         }
         
-        // Generate JWT token
-        String token = jwtUtil.generateToken(user.getEmail() != null ? user.getEmail() : user.getPhoneNumber());
+        // Transparently rehash passwords stored with an outdated BCrypt cost
+        if (passwordHasher.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.getPassword()));
+            userRepository.save(user);
+            logger.info("Password hash upgraded for user ID: {}", user.getId());
+        }
         
         logger.info("User logged in successfully: {}", request.getUsername());
-        return new LoginResponse(token, "Login successful");
+        return new LoginResponse(issueToken(user), "Login successful");
+    }
+    
+    /**
+     * Revoke the token used for the current request so it cannot be replayed after logout.
+     */
+    public void logout() {
+        JwtClaims claims = securityUtils.getCurrentTokenClaims();
+        if (claims != null) {
+            tokenRevocationList.revoke(claims.tokenId(), claims.expiresAt());
+            logger.info("Token revoked for user: {}", claims.subject());
+        }
     }
     
     public UserProfileDTO getUserProfile() {
@@ -102,25 +132,34 @@ public class UserService {
         return profile;
     }
     
+    /**
+     * Change the current user's password. Every previously issued token is invalidated by
+     * bumping the user's token version, so a fresh token is returned for the caller.
+     * 
+     * @return new JWT token for the current session
+     */
     @Transactional
-    public void changePassword(ChangePasswordRequest request) {
+    public String changePassword(ChangePasswordRequest request) {
         logger.info("Password change attempt");
         
         // Get the currently authenticated user from JWT token
         User user = securityUtils.getCurrentUser();
         
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getCurrentPassword(), user.getPassword())) {
             logger.warn("Current password is incorrect for user: {}", user.getEmail());
             throw new CustomException("Current password is incorrect");
         }
         
         // Update password with new encrypted password
-        String newEncryptedPassword = passwordEncoder.encode(request.getNewPassword());
+        String newEncryptedPassword = passwordHasher.encode(request.getNewPassword());
         user.setPassword(newEncryptedPassword);
+        user.setTokenVersion(currentTokenVersion(user) + 1);
         userRepository.save(user);
+        principalCache.evict(user.getEmail(), user.getPhoneNumber());
         
         logger.info("Password changed successfully for user: {}", user.getEmail());
+        return issueToken(user);
     }
     
     @Transactional
@@ -130,6 +169,9 @@ public class UserService {
         // Get the currently authenticated user from JWT token
         User user = securityUtils.getCurrentUser();
         
+        // Identifiers may change below, so drop cached principals under the old ones
+        principalCache.evict(user.getEmail(), user.getPhoneNumber());
+        
         // Update user information
         if (profileDTO.getFirstName() != null) {
             user.setFirstName(profileDTO.getFirstName());
@@ -144,12 +186,13 @@ public class UserService {
             }
             user.setEmail(profileDTO.getEmail());
         }
-        if (profileDTO.getPhoneNumber() != null && !profileDTO.getPhoneNumber().equals(user.getPhoneNumber())) {
+        String phoneNumber = PhoneNumbers.normalize(profileDTO.getPhoneNumber());
+        if (phoneNumber != null && !phoneNumber.equals(user.getPhoneNumber())) {
             // Check if new phone already exists
-            if (userRepository.existsByPhoneNumber(profileDTO.getPhoneNumber())) {
+            if (userRepository.existsByPhoneNumber(phoneNumber)) {
                 throw new CustomException("Phone number already in use");
             }
-            user.setPhoneNumber(profileDTO.getPhoneNumber());
+            user.setPhoneNumber(phoneNumber);
         }
         
         @SuppressWarnings("null")
@@ -177,7 +220,20 @@ public class UserService {
         // Delete the user (cascade will handle related contacts)
         if (user != null) {
             userRepository.delete(user);
+            principalCache.evict(user.getEmail(), user.getPhoneNumber());
+            logout();
             logger.info("User account deleted successfully");
         }
     }
+    
+    private String issueToken(User user) {
+        return jwtUtil.generateToken(
+                user.getEmail() != null ? user.getEmail() : user.getPhoneNumber(),
+                user.getId(),
+                currentTokenVersion(user));
+    }
+    
+    private static int currentTokenVersion(User user) {
+        return user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+    }
 }
\ No newline at end of file
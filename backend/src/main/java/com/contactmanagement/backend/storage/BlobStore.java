@@ -0,0 +1,129 @@
+package com.contactmanagement.backend.storage;
+
+import com.contactmanagement.backend.config.BlobStorageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed blob store on the local filesystem.
+ *
+ * Blobs are keyed by the hex SHA-256 of their content and laid out as {@code <dir>/ab/abcdef...},
+ * so identical uploads are stored once and a stored blob never changes. Derived variants of a blob
+ * (e.g. thumbnails) sit next to it as {@code abcdef....<variant>}. Writes go to a temp file
+ * in the same directory and are moved into place, so readers never see a partial blob.
+ */
+@Component
+public class BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern VARIANT = Pattern.compile("[0-9a-z]{1,16}");
+
+    private final Path root;
+
+    public BlobStore(BlobStorageProperties properties) {
+        this.root = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    public static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Store content, or reuse the existing blob with the same content.
+     *
+     * @return the content hash
+     */
+    public String store(byte[] content) {
+        String hash = hash(content);
+        Path target = pathFor(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        write(target, content);
+        logger.debug("Stored blob {} ({} bytes)", hash, content.length);
+        return hash;
+    }
+    
+    /**
+     * Store a variant derived from an existing blob, replacing any previous one.
+     */
+    public void storeVariant(String hash, String variant, byte[] content) {
+        write(variantPath(hash, variant), content);
+        logger.debug("Stored blob variant {}.{} ({} bytes)", hash, variant, content.length);
+    }
+
+    /**
+     * @return path of the stored blob, or empty if the hash is malformed or unknown
+     */
+    public Optional<Path> find(String hash) {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * @return path of the stored variant, or empty if the hash or variant is malformed or unknown
+     */
+    public Optional<Path> findVariant(String hash, String variant) {
+        if (!isValidHash(hash) || variant == null || !VARIANT.matcher(variant).matches()) {
+            return Optional.empty();
+        }
+        Path path = variantPath(hash, variant);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path variantPath(String hash, String variant) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "." + variant);
+    }
+
+    private static void write(Path target, byte[] content) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, content);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store blob " + target.getFileName(), e);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
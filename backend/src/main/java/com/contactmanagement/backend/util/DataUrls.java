@@ -0,0 +1,52 @@
+package com.contactmanagement.backend.util;
+
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for base64 {@code data:} URLs, the form in which the frontend uploads contact images.
+ */
+public final class DataUrls {
+
+    private static final String PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+    private static final String DEFAULT_MEDIA_TYPE = "application/octet-stream";
+    private static final Pattern MEDIA_TYPE = Pattern.compile("[\\w.+-]+/[\\w.+-]+");
+
+    private DataUrls() {
+    }
+
+    /**
+     * Decoded content of a data URL.
+     *
+     * @param mediaType declared media type, application/octet-stream if missing or malformed
+     */
+    public record Decoded(String mediaType, byte[] bytes) {
+    }
+
+    public static boolean isDataUrl(String value) {
+        return value != null && value.regionMatches(true, 0, PREFIX, 0, PREFIX.length());
+    }
+
+    /**
+     * Decode a base64 data URL.
+     *
+     * @return the decoded content, or null if the value is not a well-formed base64 data URL
+     */
+    public static Decoded decode(String value) {
+        if (!isDataUrl(value)) {
+            return null;
+        }
+        int marker = value.indexOf(BASE64_MARKER);
+        if (marker < 0) {
+            return null;
+        }
+        String mediaType = value.substring(PREFIX.length(), marker).trim();
+        try {
+            byte[] bytes = Base64.getMimeDecoder().decode(value.substring(marker + BASE64_MARKER.length()));
+            return new Decoded(MEDIA_TYPE.matcher(mediaType).matches() ? mediaType : DEFAULT_MEDIA_TYPE, bytes);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.contactmanagement.backend.util;
+
+/**
+ * Phone number normalization helpers.
+ * Stored user phone numbers are kept in normalized form so lookups are exact index seeks.
+ */
+public final class PhoneNumbers {
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Normalize a phone number to digits with an optional leading '+'.
+     * Spaces, dashes, dots, parentheses and any other characters are dropped.
+     *
+     * @param phone raw phone number, may be null
+     * @return normalized number, or null if the input contains no digits
+     */
+    public static String normalize(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String trimmed = phone.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        boolean hasDigits = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                normalized.append(c);
+                hasDigits = true;
+            } else if (c == '+' && normalized.isEmpty()) {
+                normalized.append(c);
+            }
+        }
+        return hasDigits ? normalized.toString() : null;
+    }
+
+    /**
+     * Digits of a phone number only, dropping a leading '+' as well; the form contact phone
+     * numbers are searched by.
+     *
+     * @return digits, empty if there are none
+     */
+    public static String digits(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.contactmanagement.backend.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized forms of contact fields used for search.
+ *
+ * Contacts store these next to the original values, in indexed columns, so a search is a prefix
+ * {@code LIKE} on a plain column instead of {@code LOWER(column) LIKE '%...%'}.
+ */
+public final class SearchKeys {
+
+    /** Keys are cut to the width of the indexed columns; longer prefixes are never searched. */
+    public static final int MAX_LENGTH = 255;
+
+    /** Escape character of the LIKE patterns built here. */
+    public static final char LIKE_ESCAPE = '\\';
+
+    private static final Pattern PHONE_LIKE = Pattern.compile("[0-9+()\\-.\\s]+");
+    private static final int MIN_PHONE_DIGITS = 3;
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Trimmed, lower-cased text cut to {@link #MAX_LENGTH}; null stays null.
+     */
+    public static String text(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key;
+    }
+
+    /**
+     * Key of a contact's full name, so both "jane" and "jane sm" are prefixes of it.
+     */
+    public static String name(String firstName, String lastName) {
+        return text((firstName == null ? "" : firstName.trim()) + " " + (lastName == null ? "" : lastName.trim()));
+    }
+
+    /**
+     * Digits of a phone number cut to {@link #MAX_LENGTH}.
+     */
+    public static String phone(String phone) {
+        String digits = PhoneNumbers.digits(phone);
+        return digits.length() > MAX_LENGTH ? digits.substring(0, MAX_LENGTH) : digits;
+    }
+
+    /**
+     * Digits of a query that looks like a phone number: only digits and phone punctuation, with at
+     * least three digits. Null for any other query, which is not matched against phone numbers.
+     */
+    public static String phoneQuery(String query) {
+        if (query == null || !PHONE_LIKE.matcher(query).matches()) {
+            return null;
+        }
+        String digits = PhoneNumbers.digits(query);
+        return digits.length() >= MIN_PHONE_DIGITS ? digits : null;
+    }
+
+    /**
+     * LIKE pattern matching keys that start with {@code prefix}, with wildcards in it escaped.
+     * Square brackets are escaped too, as SQL Server reads them as character classes.
+     */
+    public static String likePrefix(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_' || c == '[') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,178 @@
+package com.contactmanagement.backend.util;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * vCard 4.0 (RFC 6350) text helpers: writing contacts as cards, value escaping and mapping
+ * between vCard TYPE parameters and the labels used by the frontend.
+ */
+public final class VCards {
+
+    public static final String MEDIA_TYPE = "text/vcard";
+
+    /** Content lines are folded after this many octets, as the RFC recommends. */
+    private static final int FOLD_OCTETS = 75;
+    private static final String CRLF = "\r\n";
+
+    private VCards() {
+    }
+
+    /**
+     * Append one contact as a complete vCard.
+     */
+    public static void write(ContactDTO contact, Appendable out) throws IOException {
+        String first = nullToEmpty(contact.getFirstName());
+        String last = nullToEmpty(contact.getLastName());
+        out.append("BEGIN:VCARD").append(CRLF);
+        out.append("VERSION:4.0").append(CRLF);
+        text(out, "FN", (first + " " + last).trim());
+        line(out, "N", escape(last) + ";" + escape(first) + ";;;");
+        if (contact.getTitle() != null && !contact.getTitle().isBlank()) {
+            text(out, "TITLE", contact.getTitle());
+        }
+        for (PhoneDTO phone : nullToEmpty(contact.getPhoneNumbers())) {
+            text(out, "TEL;VALUE=text;TYPE=" + phoneType(phone.getLabel()), phone.getPhone());
+        }
+        for (EmailDTO email : nullToEmpty(contact.getEmailAddresses())) {
+            String type = emailType(email.getLabel());
+            text(out, type == null ? "EMAIL" : "EMAIL;TYPE=" + type, email.getEmail());
+        }
+        List<String> tags = nullToEmpty(contact.getTags());
+        if (!tags.isEmpty()) {
+            line(out, "CATEGORIES", String.join(",", tags.stream().map(VCards::escape).toList()));
+        }
+        if (contact.getProfileImage() != null) {
+            line(out, "PHOTO", contact.getProfileImage());
+        }
+        out.append("END:VCARD").append(CRLF);
+    }
+
+    /**
+     * Escape a text value: backslash, comma, semicolon and newlines.
+     */
+    public static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ',' -> escaped.append("\\,");
+                case ';' -> escaped.append("\\;");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    public static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                unescaped.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * Frontend phone label for a vCard TEL TYPE list such as {@code cell,voice}.
+     */
+    public static String phoneLabel(String types) {
+        String lower = types == null ? "" : types.toLowerCase(Locale.ROOT);
+        if (lower.contains("cell")) {
+            return "mobile";
+        }
+        if (lower.contains("work")) {
+            return "work";
+        }
+        if (lower.contains("home")) {
+            return "home";
+        }
+        return "other";
+    }
+
+    /**
+     * Frontend email label for a vCard EMAIL TYPE list.
+     */
+    public static String emailLabel(String types) {
+        String lower = types == null ? "" : types.toLowerCase(Locale.ROOT);
+        if (lower.contains("work")) {
+            return "work";
+        }
+        if (lower.contains("home")) {
+            return "personal";
+        }
+        return "other";
+    }
+
+    private static String phoneType(String label) {
+        if (label == null) {
+            return "voice";
+        }
+        return switch (label) {
+            case "mobile" -> "cell";
+            case "work", "home" -> label;
+            default -> "voice";
+        };
+    }
+
+    private static String emailType(String label) {
+        if (label == null) {
+            return null;
+        }
+        return switch (label) {
+            case "personal" -> "home";
+            case "work" -> "work";
+            default -> null;
+        };
+    }
+
+    private static void text(Appendable out, String name, String value) throws IOException {
+        line(out, name, escape(nullToEmpty(value)));
+    }
+
+    /**
+     * Write a content line, folding it with CRLF + space so no physical line exceeds
+     * {@link #FOLD_OCTETS} UTF-8 octets. Never splits a character.
+     */
+    private static void line(Appendable out, String name, String escapedValue) throws IOException {
+        String content = name + ":" + escapedValue;
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int chars = Character.charCount(codePoint);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > FOLD_OCTETS) {
+                out.append(CRLF).append(' ');
+                octets = 1;
+            }
+            out.append(content, i, i + chars);
+            octets += width;
+            i += chars;
+        }
+        out.append(CRLF);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> values) {
+        return values == null ? List.of() : values;
+    }
+}
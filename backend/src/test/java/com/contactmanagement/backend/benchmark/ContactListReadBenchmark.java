@@ -0,0 +1,201 @@
+package com.contactmanagement.backend.benchmark;
+
+import com.contactmanagement.backend.BackendApplication;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.EmailAddress;
+import com.contactmanagement.backend.entity.PhoneNumber;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.security.AuthenticatedUser;
+import com.contactmanagement.backend.service.ContactService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.contactmanagement.backend.support.TestFixtures.saveUser;
+import static com.contactmanagement.backend.support.TestFixtures.signIn;
+
+/**
+ * Compares heap allocation per contacts page between the entity and projection read paths.
+ *
+ * entityPage reproduces the former list path: an id page, fetch-joined managed Contact
+ * entities, then a copy into ContactDTO. projectionPage is the current
+ * {@link ContactService#getAllContacts(Pageable)} with the contact cache disabled. Both run against H2 in a
+ * non-web application context.
+ *
+ * Run with the GC profiler and compare gc.alloc.rate.norm (bytes per page); see TESTING_README.md.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContactListReadBenchmark {
+
+    private static final int CONTACT_COUNT = 500;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ContactService contactService;
+    private LegacyReader legacyReader;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN", "contacts.cache.enabled=false")
+                .run();
+        contactService = context.getBean(ContactService.class);
+        legacyReader = context.getAutowireCapableBeanFactory().createBean(LegacyReader.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize, Sort.by("firstName"));
+
+        User user = saveUser(context.getBean(UserRepository.class), "benchmark@example.com");
+        context.getBean(ContactRepository.class).saveAll(contacts(user));
+
+        // JMH may call benchmark methods from a different thread than setup
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        signIn(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ContactDTO> entityPage() {
+        Long userId = ((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).id();
+        return readOnlyTransaction.execute(status -> legacyReader.page(userId, pageable));
+    }
+
+    @Benchmark
+    public Page<ContactDTO> projectionPage() {
+        return contactService.getAllContacts(pageable);
+    }
+
+    private static List<Contact> contacts(User user) {
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < CONTACT_COUNT; i++) {
+            Contact contact = new Contact();
+            contact.setUser(user);
+            contact.setFirstName("First" + i);
+            contact.setLastName("Last" + i);
+            contact.setTitle("Engineer");
+            contact.setTags(new ArrayList<>(List.of("work", "team" + (i % 10))));
+            for (int j = 0; j < 2; j++) {
+                PhoneNumber phone = new PhoneNumber();
+                phone.setPhone("+1555" + i + j);
+                phone.setLabel("mobile");
+                phone.setContact(contact);
+                contact.getPhoneNumbers().add(phone);
+
+                EmailAddress email = new EmailAddress();
+                email.setEmail("first" + i + "." + j + "@example.com");
+                email.setLabel("work");
+                email.setContact(contact);
+                contact.getEmailAddresses().add(email);
+            }
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+
+    /**
+     * Entity-based list read: managed entities in the persistence context, copied into DTOs.
+     */
+    public static class LegacyReader {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        List<ContactDTO> page(Long userId, Pageable pageable) {
+            List<Long> ids = entityManager
+                    .createQuery("SELECT c.id FROM Contact c WHERE c.user.id = :userId ORDER BY c.firstName", Long.class)
+                    .setParameter("userId", userId)
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize())
+                    .getResultList();
+            entityManager.createQuery("SELECT COUNT(c) FROM Contact c WHERE c.user.id = :userId", Long.class)
+                    .setParameter("userId", userId)
+                    .getSingleResult();
+            Map<Long, Contact> byId = entityManager
+                    .createQuery("SELECT DISTINCT c FROM Contact c LEFT JOIN FETCH c.phoneNumbers WHERE c.id IN :ids", Contact.class)
+                    .setParameter("ids", ids)
+                    .getResultList().stream()
+                    .collect(Collectors.toMap(Contact::getId, Function.identity()));
+            entityManager.createQuery("SELECT DISTINCT c FROM Contact c LEFT JOIN FETCH c.emailAddresses WHERE c.id IN :ids", Contact.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            entityManager.createQuery("SELECT DISTINCT c FROM Contact c LEFT JOIN FETCH c.tags WHERE c.id IN :ids", Contact.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            return ids.stream().map(byId::get).map(LegacyReader::toDTO).toList();
+        }
+
+        private static ContactDTO toDTO(Contact contact) {
+            ContactDTO dto = new ContactDTO();
+            dto.setId(contact.getId());
+            dto.setFirstName(contact.getFirstName());
+            dto.setLastName(contact.getLastName());
+            dto.setTitle(contact.getTitle());
+            dto.setProfileImage(contact.getProfileImageHash());
+            dto.setTags(contact.getTags());
+            dto.setIsFavorite(contact.getIsFavorite() != null && contact.getIsFavorite());
+            dto.setEmailAddresses(contact.getEmailAddresses().stream().map(email -> {
+                EmailDTO emailDTO = new EmailDTO();
+                emailDTO.setId(email.getId());
+                emailDTO.setEmail(email.getEmail());
+                emailDTO.setLabel(email.getLabel());
+                return emailDTO;
+            }).toList());
+            dto.setPhoneNumbers(contact.getPhoneNumbers().stream().map(phone -> {
+                PhoneDTO phoneDTO = new PhoneDTO();
+                phoneDTO.setId(phone.getId());
+                phoneDTO.setPhone(phone.getPhone());
+                phoneDTO.setLabel(phone.getLabel());
+                return phoneDTO;
+            }).toList());
+            return dto;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ContactListReadBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
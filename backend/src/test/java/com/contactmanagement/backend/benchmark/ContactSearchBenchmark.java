@@ -0,0 +1,151 @@
+package com.contactmanagement.backend.benchmark;
+
+import com.contactmanagement.backend.BackendApplication;
+import com.contactmanagement.backend.bulkimport.ContactBatchWriter;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.EmailAddress;
+import com.contactmanagement.backend.entity.PhoneNumber;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.search.ContactSearchIndex;
+import com.contactmanagement.backend.service.ContactService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.contactmanagement.backend.support.TestFixtures.saveUser;
+import static com.contactmanagement.backend.support.TestFixtures.signIn;
+
+/**
+ * Per-keystroke latency of typo-tolerant search on a large address book.
+ *
+ * Generates {@link #CONTACT_COUNT} contacts from fixed name pools with a seeded random, so every run
+ * searches the same data. indexOnly measures {@link ContactSearchIndex#searchFuzzy(Long, String)};
+ * firstPage adds loading the first page of contacts, as the search endpoint does with {@code fuzzy=true}.
+ *
+ * Sample time mode reports p50, p99 and p99.9 per query; see TESTING_README.md.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContactSearchBenchmark {
+
+    private static final int CONTACT_COUNT = 50_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Margaret", "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Sandra",
+            "Alexander", "Ashley", "Steven", "Dorothy", "Andrew", "Kimberly", "Joshua", "Emily", "Kevin", "Donna"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores"};
+    private static final String[] TITLES = {"Engineer", "Manager", "Designer", "Director", "Analyst", null};
+
+    @Param({"jon", "jonh", "margret", "alexnder thompsen", "smith"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private ContactService contactService;
+    private ContactSearchIndex searchIndex;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        contactService = context.getBean(ContactService.class);
+        searchIndex = context.getBean(ContactSearchIndex.class);
+
+        User user = saveUser(context.getBean(UserRepository.class), "benchmark@example.com");
+        userId = user.getId();
+        ContactBatchWriter writer = context.getBean(ContactBatchWriter.class);
+        // The writer reserves change sequence numbers under a row lock that only a transaction keeps
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Random random = new Random(42);
+        for (int start = 0; start < CONTACT_COUNT; start += BATCH_SIZE) {
+            List<Contact> batch = contacts(random, start, Math.min(BATCH_SIZE, CONTACT_COUNT - start));
+            transaction.executeWithoutResult(status -> writer.insert(userId, batch));
+        }
+
+        // JMH may call benchmark methods from a different thread than setup
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        signIn(user);
+        // Build the index before measuring
+        searchIndex.searchFuzzy(userId, query);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> indexOnly() {
+        return searchIndex.searchFuzzy(userId, query);
+    }
+
+    @Benchmark
+    public Page<ContactDTO> firstPage() {
+        return contactService.fuzzySearchContacts(query, PageRequest.of(0, 20));
+    }
+
+    private static List<Contact> contacts(Random random, int start, int count) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = start; i < start + count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Contact contact = new Contact();
+            contact.setFirstName(first);
+            contact.setLastName(last);
+            contact.setTitle(TITLES[random.nextInt(TITLES.length)]);
+            contact.setIsFavorite(random.nextInt(20) == 0);
+            contact.setTags(new ArrayList<>(List.of("team" + (i % 50))));
+
+            PhoneNumber phone = new PhoneNumber();
+            phone.setPhone(String.format("+1 555 %07d", i));
+            phone.setLabel("mobile");
+            phone.setContact(contact);
+            contact.getPhoneNumbers().add(phone);
+
+            EmailAddress email = new EmailAddress();
+            email.setEmail((first + "." + last + i + "@example.com").toLowerCase());
+            email.setLabel("work");
+            email.setContact(contact);
+            contact.getEmailAddresses().add(email);
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ContactSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
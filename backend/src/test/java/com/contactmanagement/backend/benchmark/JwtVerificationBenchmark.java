@@ -0,0 +1,78 @@
+package com.contactmanagement.backend.benchmark;
+
+import com.contactmanagement.backend.config.JwtProperties;
+import com.contactmanagement.backend.security.JwtClaims;
+import com.contactmanagement.backend.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per-request JWT verification cost of the filter.
+ *
+ * legacyTripleParse reproduces the former filter path: extractUsername, then validateToken
+ * (extractUsername + isTokenExpired), each rebuilding the key and parser.
+ * singleParse is the current path through {@link JwtUtil#verify(String)}.
+ *
+ * See TESTING_README.md for how to run the benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "your-secret-key-here-make-it-long-and-secure-at-least-256-bits-for-HS512-algorithm";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(86_400_000L);
+        jwtUtil = new JwtUtil(properties);
+        token = jwtUtil.generateToken("user@example.com", 1L, 0);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return jwtUtil.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
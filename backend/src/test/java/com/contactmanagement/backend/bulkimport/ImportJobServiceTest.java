@@ -0,0 +1,362 @@
+package com.contactmanagement.backend.bulkimport;
+
+import com.contactmanagement.backend.config.ImportProperties;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.ImportJobDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.ImportJob;
+import com.contactmanagement.backend.exception.TooManyRequestsException;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.ContactTombstoneRepository;
+import com.contactmanagement.backend.repository.ImportJobErrorRepository;
+import com.contactmanagement.backend.repository.ImportJobRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.service.ContactExportService;
+import com.contactmanagement.backend.service.ContactService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for background vCard and CSV imports
+ *
+ * Runs with a batch size of 2 and a CSV chunk size of 3 on two parser threads, so a small file
+ * spans several batches and parallel chunks, and polls the job status until the background
+ * thread has finished.
+ */
+@SpringBootTest(properties = {
+        "contacts.import.batch-size=2",
+        "contacts.import.chunk-size=3",
+        "contacts.import.parse-threads=2",
+        "contacts.import.instance-id=this-instance"
+})
+@DisplayName("ImportJobService Integration Tests")
+class ImportJobServiceTest {
+
+    private static final String CARDS = String.join("\r\n",
+            "BEGIN:VCARD",
+            "VERSION:4.0",
+            "FN:Ada Lovelace",
+            "N:Lovelace;Ada;;;",
+            "TITLE:Analyst\\, Engines",
+            "TEL;VALUE=uri;TYPE=\"cell,voice\":tel:+44 20 7946 0000",
+            "EMAIL;TYPE=work:ada@exa",
+            " mple.com",
+            "CATEGORIES:math,history",
+            "END:VCARD",
+            "BEGIN:VCARD",
+            "VERSION:3.0",
+            "item1.TEL;HOME:+1 555 0100",
+            "END:VCARD",
+            "BEGIN:VCARD",
+            "VERSION:3.0",
+            "FN:Grace Hopper",
+            "EMAIL;TYPE=INTERNET;TYPE=HOME:grace@example.com",
+            "END:VCARD",
+            "");
+
+    private static final String ROWS = String.join("\r\n",
+            "\uFEFFFirst Name,Last Name,Title,Phone:Work,Email,Tags,Favorite,Notes",
+            "Ada,Lovelace,\"Analyst, Engines\",+44 20 7946 0000,ada@example.com;ada@work.example.com,math;history,yes,",
+            ",Nameless,,,,,,",
+            "Bob,Builder,,,,,,\"two",
+            "line note\"",
+            "",
+            "Cy,Young,,,,,no,",
+            "Dan,Brown,,,,,,",
+            "Eve,Online,,,,,,",
+            "Fay,Wray,,,,,,",
+            "Gus,Grissom,,,,,,\"never closed",
+            "");
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ContactBatchWriter contactBatchWriter;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactExportService contactExportService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        signIn(userRepository, "import@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        importJobErrorRepository.deleteAll();
+        importJobRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import cards in the background and report skipped cards by line")
+    void submit_ShouldImportCardsAndReportErrors() throws Exception {
+        // Arrange
+        String etagBefore = contactService.getContactsETag();
+
+        // Act
+        ImportJobDTO queued = importJobService.submit(ImportJob.Format.VCARD, file(CARDS));
+        ImportJobDTO job = awaitFinished(queued.getId());
+
+        // Assert
+        assertThat(queued.getStatus()).isEqualTo("QUEUED");
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getProgress()).isEqualTo(100);
+        assertThat(job.getRecordsProcessed()).isEqualTo(3);
+        assertThat(job.getContactsImported()).isEqualTo(2);
+        assertThat(job.getRecordsFailed()).isEqualTo(1);
+        assertThat(job.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(11);
+            assertThat(error.getMessage()).isEqualTo("Card has no name");
+        });
+
+        List<ContactDTO> contacts = contactService.getAllContacts(PageRequest.of(0, 10, Sort.by("firstName"))).getContent();
+        assertThat(contacts).extracting(ContactDTO::getFirstName).containsExactly("Ada", "Grace");
+        ContactDTO ada = contacts.get(0);
+        assertThat(ada.getLastName()).isEqualTo("Lovelace");
+        assertThat(ada.getTitle()).isEqualTo("Analyst, Engines");
+        assertThat(ada.getPhoneNumbers()).extracting(PhoneDTO::getPhone, PhoneDTO::getLabel)
+                .containsExactly(tuple("+44 20 7946 0000", "mobile"));
+        assertThat(ada.getEmailAddresses()).extracting(EmailDTO::getEmail, EmailDTO::getLabel)
+                .containsExactly(tuple("ada@example.com", "work"));
+        assertThat(ada.getTags()).containsExactlyInAnyOrder("math", "history");
+        ContactDTO grace = contacts.get(1);
+        assertThat(grace.getLastName()).isEqualTo("Hopper");
+        assertThat(grace.getEmailAddresses()).extracting(EmailDTO::getLabel).containsExactly("personal");
+        assertThat(contactService.getContactsETag()).isNotEqualTo(etagBefore);
+        assertThat(contactService.getChanges(null).getUpserts()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should import its own vCard export unchanged")
+    void submit_ShouldRoundTripExport() throws Exception {
+        // Arrange
+        for (String name : List.of("Zoë", "Bob", "Cy")) {
+            contactService.createContact(awkwardContact(name));
+        }
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        contactExportService.exportVCard().writeTo(exported);
+        List<ContactDTO> original = contactService.getAllContacts(PageRequest.of(0, 10, Sort.by("firstName"))).getContent();
+        signIn(userRepository, "round-trip@example.com");
+
+        // Act
+        ImportJobDTO job = awaitFinished(importJobService.submit(ImportJob.Format.VCARD,
+                file(exported.toString(StandardCharsets.UTF_8))).getId());
+
+        // Assert
+        assertThat(job.getContactsImported()).isEqualTo(3);
+        List<ContactDTO> imported = contactService.getAllContacts(PageRequest.of(0, 10, Sort.by("firstName"))).getContent();
+        assertThat(imported).hasSameSizeAs(original);
+        for (int i = 0; i < original.size(); i++) {
+            ContactDTO expected = original.get(i);
+            ContactDTO actual = imported.get(i);
+            assertThat(actual.getFirstName()).isEqualTo(expected.getFirstName());
+            assertThat(actual.getLastName()).isEqualTo(expected.getLastName());
+            assertThat(actual.getTitle()).isEqualTo(expected.getTitle());
+            assertThat(actual.getTags()).isEqualTo(expected.getTags());
+            assertThat(actual.getPhoneNumbers()).extracting(PhoneDTO::getPhone, PhoneDTO::getLabel)
+                    .isEqualTo(expected.getPhoneNumbers().stream().map(p -> tuple(p.getPhone(), p.getLabel())).toList());
+            assertThat(actual.getEmailAddresses()).extracting(EmailDTO::getEmail, EmailDTO::getLabel)
+                    .isEqualTo(expected.getEmailAddresses().stream().map(e -> tuple(e.getEmail(), e.getLabel())).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows in file order and report bad rows by line")
+    void submit_Csv_ShouldImportRowsAndReportErrors() throws Exception {
+        // Act
+        ImportJobDTO job = awaitFinished(importJobService.submit(ImportJob.Format.CSV, file(ROWS)).getId());
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getRecordsProcessed()).isEqualTo(8);
+        assertThat(job.getContactsImported()).isEqualTo(6);
+        assertThat(job.getRecordsPerSecond()).isNotNull();
+        assertThat(job.getErrors()).extracting(ImportJobDTO.RecordError::getLine, ImportJobDTO.RecordError::getMessage)
+                .containsExactly(tuple(3L, "First name is required"), tuple(11L, "Quoted field is not closed"));
+
+        List<ContactDTO> contacts = contactService.getAllContacts(PageRequest.of(0, 10, Sort.by("firstName"))).getContent();
+        assertThat(contacts).extracting(ContactDTO::getFirstName).containsExactly("Ada", "Bob", "Cy", "Dan", "Eve", "Fay");
+        ContactDTO ada = contacts.get(0);
+        assertThat(ada.getTitle()).isEqualTo("Analyst, Engines");
+        assertThat(ada.getIsFavorite()).isTrue();
+        assertThat(ada.getPhoneNumbers()).extracting(PhoneDTO::getPhone, PhoneDTO::getLabel)
+                .containsExactly(tuple("+44 20 7946 0000", "work"));
+        assertThat(ada.getEmailAddresses()).extracting(EmailDTO::getEmail)
+                .containsExactly("ada@example.com", "ada@work.example.com");
+        assertThat(ada.getTags()).containsExactlyInAnyOrder("math", "history");
+        assertThat(contactService.countContacts()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should continue an interrupted CSV import after its last committed row")
+    void resumeInterruptedJobs_ShouldContinueFromCheckpoint() throws Exception {
+        // Arrange - a job that committed the header and first two rows before the process died
+        String header = "firstName,lastName\n";
+        String committed = "Ada,One\nBob,Two\n";
+        String content = header + committed + "Cy,Three\nDan,Four\n";
+        Long userId = userRepository.findAll().get(0).getId();
+        ImportJob job = new ImportJob();
+        job.setUserId(userId);
+        job.setFormat(ImportJob.Format.CSV);
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setTotalBytes(content.length());
+        job.setBytesRead(header.length() + committed.length());
+        job.setLinesRead(3);
+        job.setRecordsProcessed(2);
+        job.setContactsImported(2);
+        job.setCreatedAt(Instant.now());
+        job.setStartedAt(Instant.now());
+        job = importJobRepository.save(job);
+        Path upload = Paths.get(importProperties.getDirectory()).toAbsolutePath().resolve(job.getId() + ".upload");
+        Files.createDirectories(upload.getParent());
+        Files.writeString(upload, content);
+
+        // Act
+        importJobService.resumeInterruptedJobs();
+        ImportJobDTO resumed = awaitFinished(job.getId());
+
+        // Assert
+        assertThat(resumed.getStatus()).isEqualTo("COMPLETED");
+        assertThat(resumed.getRecordsProcessed()).isEqualTo(4);
+        assertThat(resumed.getContactsImported()).isEqualTo(4);
+        assertThat(contactService.getAllContacts(PageRequest.of(0, 10, Sort.by("firstName"))).getContent())
+                .extracting(ContactDTO::getFirstName).containsExactly("Cy", "Dan");
+        assertThat(upload).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should leave interrupted-looking jobs of other instances alone")
+    void resumeInterruptedJobs_ShouldSkipJobsOfOtherInstances() throws Exception {
+        // Arrange - another instance is still running this job from a shared spool directory
+        ImportJob job = importJobRepository.save(activeJob("other-instance"));
+        Path upload = Paths.get(importProperties.getDirectory()).toAbsolutePath().resolve(job.getId() + ".upload");
+        Files.createDirectories(upload.getParent());
+        Files.writeString(upload, "firstName\nAda\n");
+
+        // Act
+        try {
+            importJobService.resumeInterruptedJobs();
+
+            // Assert
+            ImportJob after = importJobRepository.findById(job.getId()).orElseThrow();
+            assertThat(after.getStatus()).isEqualTo(ImportJob.Status.RUNNING);
+            assertThat(after.getInstanceId()).isEqualTo("other-instance");
+            assertThat(after.getRecordsProcessed()).isZero();
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse an upload while the user already has the maximum number of active imports")
+    void submit_OverActiveLimitPerUser_ShouldReject() {
+        // Arrange
+        importJobRepository.save(activeJob("other-instance"));
+        importJobRepository.save(activeJob("other-instance"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> importJobService.submit(ImportJob.Format.CSV, file("firstName\nAda\n")))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(importJobRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should refuse a batch insert outside a transaction before reserving change numbers")
+    void insert_WithoutTransaction_ShouldFail() {
+        // Arrange
+        Long userId = userRepository.findAll().get(0).getId();
+        Contact contact = new Contact();
+        contact.setFirstName("Ada");
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactBatchWriter.insert(userId, List.of(contact)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+        assertThat(userRepository.findContactsVersionById(userId)).contains(0L);
+    }
+
+    private ImportJob activeJob(String instanceId) {
+        ImportJob job = new ImportJob();
+        job.setUserId(userRepository.findAll().get(0).getId());
+        job.setInstanceId(instanceId);
+        job.setFormat(ImportJob.Format.CSV);
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setCreatedAt(Instant.now());
+        return job;
+    }
+
+    private ImportJobDTO awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImportJobDTO job = importJobService.getJob(jobId);
+        while (job.getStatus().equals("QUEUED") || job.getStatus().equals("RUNNING")) {
+            assertThat(System.currentTimeMillis()).as("import did not finish in time").isLessThan(deadline);
+            Thread.sleep(20);
+            job = importJobService.getJob(jobId);
+        }
+        return job;
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "contacts.vcf", "text/vcard", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Contact whose values need escaping in every export format.
+     */
+    private static ContactDTO awkwardContact(String firstName) {
+        ContactDTO contact = contact(firstName, "Semi;colon, Comma " + "x".repeat(80));
+        contact.setTitle("Line one\nLine two");
+        contact.setTags(new ArrayList<>(List.of("friend", "a,b")));
+        contact.setPhoneNumbers(List.of(phone("+1555" + firstName.length(), "mobile"),
+                phone("+1666" + firstName.length(), "work")));
+        contact.setEmailAddresses(List.of(email(firstName.toLowerCase() + "@example.com", "personal")));
+        return contact;
+    }
+}
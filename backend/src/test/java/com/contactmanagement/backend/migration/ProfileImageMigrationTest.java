@@ -0,0 +1,131 @@
+package com.contactmanagement.backend.migration;
+
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.storage.BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static com.contactmanagement.backend.support.TestFixtures.saveUser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ProfileImageMigration
+ *
+ * Recreates the legacy profile_image column on the H2 test database, fills it
+ * and checks that values move to the blob store in batches.
+ */
+@SpringBootTest(properties = "storage.blobs.migration-batch-size=3")
+@DisplayName("ProfileImageMigration Integration Tests")
+class ProfileImageMigrationTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 7, 7, 7};
+
+    @Autowired
+    private ProfileImageMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    private List<Long> contactIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE contacts ADD COLUMN profile_image CLOB");
+
+        User user = saveUser(userRepository, "migration@example.com");
+
+        contactIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Contact contact = new Contact();
+            contact.setUser(user);
+            contact.setFirstName("Legacy" + i);
+            contact.setLastName("Contact");
+            contactIds.add(contactRepository.save(contact).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE contacts DROP COLUMN profile_image");
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should move data URLs to the blob store and leave invalid values in place")
+    void run_WithLegacyImages_ShouldMigrateInBatches() {
+        // Arrange - six identical images and one value that is not a data URL
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+        for (int i = 0; i < 6; i++) {
+            jdbcTemplate.update("UPDATE contacts SET profile_image = ? WHERE id = ?", dataUrl, contactIds.get(i));
+        }
+        jdbcTemplate.update("UPDATE contacts SET profile_image = ? WHERE id = ?", "not-an-image", contactIds.get(6));
+
+        // Act
+        migration.run(new DefaultApplicationArguments());
+
+        // Assert
+        String hash = BlobStore.hash(PNG);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contacts WHERE profile_image_hash = ? AND profile_image IS NULL",
+                Integer.class, hash)).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT profile_image FROM contacts WHERE id = ?", String.class, contactIds.get(6)))
+                .isEqualTo("not-an-image");
+        assertThat(blobStore.find(hash)).isPresent();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT change_seq FROM contacts WHERE profile_image_hash IS NOT NULL ORDER BY id", Long.class))
+                .as("moved contacts show up in delta sync").containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(jdbcTemplate.queryForObject("SELECT contacts_version FROM users", Long.class)).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM contacts ORDER BY id", Long.class))
+                .containsExactly(1L, 1L, 1L, 1L, 1L, 1L, 0L);
+    }
+
+    @Test
+    @DisplayName("Should not overwrite or re-stamp a contact that got a new image while its batch was in flight")
+    void writeBatch_WhenImageReplacedMeanwhile_ShouldKeepNewImage() {
+        // Arrange - contact 0 was read with its legacy image, then given a new one
+        Long userId = userRepository.findAll().get(0).getId();
+        jdbcTemplate.update("UPDATE contacts SET profile_image = ?, profile_image_hash = ? WHERE id = ?",
+                "data:image/png;base64,AAAA", "uploaded-meanwhile", contactIds.get(0));
+        String hash = BlobStore.hash(PNG);
+        List<Object[]> images = List.of(new Object[]{hash, contactIds.get(0)}, new Object[]{hash, contactIds.get(1)});
+
+        // Act
+        int written = migration.writeBatch(Map.of(userId, images));
+
+        // Assert
+        assertThat(written).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT profile_image_hash, change_seq, version FROM contacts WHERE id = ?", contactIds.get(0)))
+                .containsEntry("PROFILE_IMAGE_HASH", "uploaded-meanwhile")
+                .containsEntry("CHANGE_SEQ", 0L)
+                .containsEntry("VERSION", 0L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT change_seq FROM contacts WHERE id = ?", Long.class, contactIds.get(1))).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT contacts_version FROM users", Long.class)).isEqualTo(1);
+    }
+}
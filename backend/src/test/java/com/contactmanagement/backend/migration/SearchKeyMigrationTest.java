@@ -0,0 +1,111 @@
+package com.contactmanagement.backend.migration;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSuggestionDTO;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.service.ContactService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for SearchKeyMigration
+ *
+ * Inserts contacts the way they were stored before the search key columns existed, runs the
+ * migration in small batches, and searches them through the database query, with the in-memory
+ * index turned off.
+ */
+@SpringBootTest(properties = {
+        "contacts.search-index.backfill-batch-size=2",
+        "contacts.search-index.enabled=false"
+})
+@DisplayName("SearchKeyMigration Integration Tests")
+class SearchKeyMigrationTest {
+
+    @Autowired
+    private SearchKeyMigration migration;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        User user = saveUser(userRepository, "search-keys@example.com");
+
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO contacts (user_id, first_name, last_name, title, is_favorite, version, change_seq) " +
+                    "VALUES (?, ?, ?, ?, FALSE, 0, 0)", user.getId(), "Legacy" + i, "Contact", i == 0 ? "Chief Engineer" : null);
+            Long contactId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM contacts", Long.class);
+            jdbcTemplate.update("INSERT INTO email_addresses (email, label, contact_id) VALUES (?, 'work', ?)",
+                    "Legacy" + i + "@Example.com", contactId);
+            jdbcTemplate.update("INSERT INTO phone_numbers (phone, label, contact_id) VALUES (?, 'mobile', ?)",
+                    "+1 (555) 010-00" + i, contactId);
+            jdbcTemplate.update("INSERT INTO contact_tags (contact_id, tag) VALUES (?, ?)", contactId, "Team" + i);
+            jdbcTemplate.update("INSERT INTO contact_tags (contact_id, tag) VALUES (?, 'Shared')", contactId);
+        }
+
+        signIn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should fill missing search keys in batches and make legacy contacts searchable")
+    void run_WithLegacyRows_ShouldBackfillSearchKeys() {
+        // Arrange
+        assertThat(search("legacy")).isEmpty();
+
+        // Act
+        migration.run(new DefaultApplicationArguments());
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contacts WHERE name_key IS NULL", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contact_tag_keys", Integer.class)).isEqualTo(10);
+        assertThat(search("legacy")).hasSize(5);
+        assertThat(search("LEGACY2 cont")).containsExactly("Legacy2");
+        assertThat(search("legacy3@example")).containsExactly("Legacy3");
+        assertThat(search("+1 555-010-004")).containsExactly("Legacy4");
+        assertThat(search("team1")).containsExactly("Legacy1");
+        assertThat(search("shared")).hasSize(5);
+        assertThat(search("chief")).containsExactly("Legacy0");
+        assertThat(search("egacy")).as("matches are by prefix").isEmpty();
+        assertThat(search("legacy_")).as("wildcards in the query are literal").isEmpty();
+        assertThat(contactService.suggestContacts("legacy", 2)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Legacy0 Contact", "Legacy1 Contact");
+    }
+
+    private List<String> search(String query) {
+        return contactService.searchContacts(query, PageRequest.of(0, 20)).getContent().stream()
+                .map(ContactDTO::getFirstName)
+                .toList();
+    }
+}
@@ -0,0 +1,219 @@
+package com.contactmanagement.backend.search;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSuggestionDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.exception.BadRequestException;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.ContactTombstoneRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.service.ContactService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for contact search through the in-memory index
+ *
+ * Searches through ContactService, so the index is built from the H2 test database and then
+ * kept current by the same writes the API makes.
+ */
+@SpringBootTest
+@DisplayName("Contact Search Index Integration Tests")
+class ContactSearchIndexTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        signIn(userRepository, "search@example.com");
+
+        contactService.createContact(contact("Ada", "Lovelace", "ada@analytical.org", "+44 20 7946 0018", "math"));
+        contactService.createContact(contact("Grace", "Hopper", "grace@navy.mil", "(555) 010-2030", "navy"));
+        contactService.createContact(contact("Linus", "Torvalds", "linus@kernel.org", "555 0199", "kernel"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        tombstoneRepository.deleteAll();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should match names, emails, phone digits and tags case-insensitively")
+    void searchContacts_ShouldMatchAllIndexedFields() {
+        // Act & Assert
+        assertThat(search("LOVE")).containsExactly("Ada");
+        assertThat(search("grace hop")).containsExactly("Grace");
+        assertThat(search("kernel.org")).containsExactly("Linus");
+        assertThat(search("navy")).containsExactly("Grace");
+        assertThat(search("5550102")).containsExactly("Grace");
+        assertThat(search("555-01")).containsExactly("Grace", "Linus");
+        assertThat(search("a")).containsExactly("Ada", "Grace", "Linus");
+        assertThat(search("ovelac")).as("unlike the database fallback, matches inside a value").containsExactly("Ada");
+        assertThat(search("nobody")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should see creates, updates and deletes made after the index was built")
+    void searchContacts_AfterWrites_ShouldReflectThem() {
+        // Arrange - Build the index
+        assertThat(search("hopper")).containsExactly("Grace");
+        Long graceId = contactService.searchContacts("hopper", PageRequest.of(0, 10)).getContent().get(0).getId();
+        Long linusId = contactService.searchContacts("linus", PageRequest.of(0, 10)).getContent().get(0).getId();
+
+        // Act
+        contactService.createContact(contact("Barbara", "Liskov", "barbara@mit.edu", "617 555 0142", "navy"));
+        ContactDTO renamed = contact("Grace", "Murray", "grace@yale.edu", "(555) 010-2030", "math");
+        contactService.updateContact(graceId, renamed);
+        contactService.deleteContact(linusId);
+
+        // Assert
+        assertThat(search("navy")).containsExactly("Barbara");
+        assertThat(search("hopper")).isEmpty();
+        assertThat(search("murray")).containsExactly("Grace");
+        assertThat(search("math")).containsExactly("Ada", "Grace");
+        assertThat(search("torvalds")).isEmpty();
+        assertThat(search("0142")).containsExactly("Barbara");
+    }
+
+    @Test
+    @DisplayName("Should sort and page matches as requested")
+    void searchContacts_WithSortAndPage_ShouldOrderMatches() {
+        // Act
+        Page<ContactDTO> first = contactService.searchContacts("a",
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "lastName")));
+        Page<ContactDTO> second = contactService.searchContacts("a",
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "lastName")));
+
+        // Assert
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).extracting(ContactDTO::getLastName).containsExactly("Torvalds", "Lovelace");
+        assertThat(second.getContent()).extracting(ContactDTO::getLastName).containsExactly("Hopper");
+        assertThat(first.getContent().get(0).getEmailAddresses()).extracting(EmailDTO::getEmail)
+                .containsExactly("linus@kernel.org");
+    }
+
+    @Test
+    @DisplayName("Should suggest contacts by the start of a name token or email local part")
+    void suggestContacts_ShouldMatchTokenPrefixes() {
+        // Arrange
+        contactService.createContact(contact("Linda", "Hopkins", "lh@example.com", "555 0300", "navy"));
+
+        // Act & Assert
+        assertThat(contactService.suggestContacts("li", 8)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Linda Hopkins", "Linus Torvalds");
+        assertThat(contactService.suggestContacts("hop", 8)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Grace Hopper", "Linda Hopkins");
+        assertThat(contactService.suggestContacts("hop li", 8)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Linda Hopkins");
+        assertThat(contactService.suggestContacts("Gr", 8)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Grace Hopper");
+        assertThat(contactService.suggestContacts("lh", 8)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Linda Hopkins");
+        assertThat(contactService.suggestContacts("analytical", 8)).as("domains are not suggested").isEmpty();
+        assertThat(contactService.suggestContacts("li", 1)).hasSize(1);
+        assertThat(contactService.suggestContacts("  ", 8)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank favorites first, including one marked after the index was built")
+    void suggestContacts_AfterToggle_ShouldRankFavoriteFirst() {
+        // Arrange
+        assertThat(contactService.suggestContacts("a", 8)).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Ada Lovelace");
+        Long linusId = contactService.suggestContacts("torv", 8).get(0).getId();
+
+        // Act
+        contactService.toggleFavorite(linusId);
+
+        // Assert
+        List<ContactSuggestionDTO> suggestions = contactService.suggestContacts("l", 8);
+        assertThat(suggestions).extracting(ContactSuggestionDTO::getDisplayName)
+                .containsExactly("Linus Torvalds", "Ada Lovelace");
+        assertThat(suggestions.get(0).getIsFavorite()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should find misspelled names and rank exact over prefix over fuzzy matches")
+    void fuzzySearchContacts_ShouldTolerateTyposAndRankByRelevance() {
+        // Arrange
+        contactService.createContact(contact("John", "Smith", "js@example.com", "555 0400", "work"));
+        contactService.createContact(contact("Johnny", "Cash", "cash@example.com", "555 0401", "music"));
+        Long jonId = contactService.createContact(contact("Jon", "Bon", "jb@example.com", "555 0402", "music")).getId();
+        contactService.toggleFavorite(jonId);
+
+        // Act & Assert
+        assertThat(fuzzy("john")).containsExactly("John", "Johnny", "Jon");
+        assertThat(fuzzy("jonh")).as("favorite boosted").containsExactly("Jon", "John");
+        assertThat(fuzzy("lovelcae")).containsExactly("Ada");
+        assertThat(fuzzy("grcae hoppr")).containsExactly("Grace");
+        assertThat(fuzzy("torvalds lin")).containsExactly("Linus");
+        assertThat(fuzzy("xyzzy")).isEmpty();
+        assertThatThrownBy(() -> fuzzy("   ")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should narrow the previous result while typing and start over after a change")
+    void searchContacts_WhileTyping_ShouldNarrowRecentResults() {
+        // Arrange
+        double hits = results("hit");
+        double misses = results("miss");
+
+        // Act & Assert
+        assertThat(search("h")).containsExactly("Ada", "Grace");
+        assertThat(search("ho")).containsExactly("Grace");
+        assertThat(search("hop")).containsExactly("Grace");
+        contactService.createContact(contact("Hoppy", "Cassidy", "hoppy@example.com", "555 0300", "film"));
+        assertThat(search("hopp")).containsExactly("Grace", "Hoppy");
+        assertThat(search("555 01")).containsExactly("Grace", "Linus");
+        assertThat(search("555 010")).containsExactly("Grace");
+
+        assertThat(results("hit") - hits).isEqualTo(3);
+        assertThat(results("miss") - misses).isEqualTo(3);
+    }
+
+    private double results(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "contact-search-results", "result", result)
+                .counter().count();
+    }
+
+    private List<String> fuzzy(String query) {
+        return contactService.fuzzySearchContacts(query, PageRequest.of(0, 20)).getContent().stream()
+                .map(ContactDTO::getFirstName)
+                .toList();
+    }
+
+    private List<String> search(String query) {
+        return contactService.searchContacts(query, PageRequest.of(0, 20)).getContent().stream()
+                .map(ContactDTO::getFirstName)
+                .toList();
+    }
+}
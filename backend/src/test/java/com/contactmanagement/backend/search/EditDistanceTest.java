@@ -0,0 +1,34 @@
+package com.contactmanagement.backend.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for EditDistance
+ */
+@DisplayName("EditDistance Unit Tests")
+class EditDistanceTest {
+
+    @Test
+    @DisplayName("Should count insertions, deletions, substitutions and adjacent swaps as one edit each")
+    void bounded_ShouldCountEdits() {
+        assertThat(EditDistance.bounded("john", "john", 2)).isZero();
+        assertThat(EditDistance.bounded("jon", "john", 2)).isEqualTo(1);
+        assertThat(EditDistance.bounded("johnn", "john", 2)).isEqualTo(1);
+        assertThat(EditDistance.bounded("jahn", "john", 2)).isEqualTo(1);
+        assertThat(EditDistance.bounded("jonh", "john", 2)).isEqualTo(1);
+        assertThat(EditDistance.bounded("lovelcae", "lovelace", 2)).isEqualTo(1);
+        assertThat(EditDistance.bounded("jnoh", "john", 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should stop at the bound")
+    void bounded_BeyondMax_ShouldReturnMaxPlusOne() {
+        assertThat(EditDistance.bounded("smith", "smythe", 1)).isEqualTo(2);
+        assertThat(EditDistance.bounded("ada", "grace", 1)).isEqualTo(2);
+        assertThat(EditDistance.bounded("a", "abcdef", 2)).isEqualTo(3);
+        assertThat(EditDistance.bounded("kitten", "sitting", 3)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,179 @@
+package com.contactmanagement.backend.security;
+
+import com.contactmanagement.backend.config.LoginThrottleProperties;
+import com.contactmanagement.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LoginRateLimiter
+ *
+ * Uses a manual clock so refill and idle eviction can be tested without sleeping.
+ */
+@DisplayName("LoginRateLimiter Unit Tests")
+class LoginRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private LoginThrottleProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginThrottleProperties();
+        properties.setUsernameCapacity(3);
+        properties.setUsernameRefillPerMinute(3);
+        properties.setIpCapacity(10);
+        properties.setIpRefillPerMinute(10);
+        properties.setStripes(4);
+        properties.setMaxEntriesPerStripe(100);
+        properties.setIdleTimeout(Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new LoginRateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should reject attempts beyond the username burst capacity")
+    void checkLoginAttempt_OverUsernameCapacity_ShouldReject() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt("victim@example.com", "10.0.0." + i);
+        }
+
+        // Assert
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("victim@example.com", "10.0.0.99"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isPositive());
+        assertThat(meterRegistry.counter("login.throttle.rejected", "key", "username").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should treat case and phone formatting variants as the same username")
+    void checkLoginAttempt_WithUsernameVariants_ShouldShareBucket() {
+        // Act
+        limiter.checkLoginAttempt("+1 (555) 010-2000", "10.0.0.1");
+        limiter.checkLoginAttempt("+15550102000", "10.0.0.2");
+        limiter.checkLoginAttempt("+1-555-010-2000", "10.0.0.3");
+
+        // Assert
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("+1 555 010 2000", "10.0.0.4"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject attempts beyond the per-IP capacity across usernames")
+    void checkLoginAttempt_OverIpCapacity_ShouldReject() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.checkLoginAttempt("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Assert
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("another@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("login.throttle.rejected", "key", "ip").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should allow attempts again once tokens have refilled")
+    void checkLoginAttempt_AfterRefill_ShouldAllow() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt("user@example.com", "10.0.0.1");
+        }
+
+        // Act - 3 per minute means one token every 20 seconds
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(21));
+
+        // Assert
+        assertThatCode(() -> limiter.checkLoginAttempt("user@example.com", "10.0.0.1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("user@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep admitting new keys while a flood of distinct keys overfills its stripe")
+    void checkLoginAttempt_FloodOfDistinctKeys_ShouldFailOpen() {
+        // Arrange
+        properties.setStripes(1);
+        properties.setMaxEntriesPerStripe(20);
+        limiter = new LoginRateLimiter(properties, meterRegistry, clock::get);
+
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            String username = "bot" + i + "@example.com";
+            String ip = "10.1." + (i / 250) + "." + (i % 250);
+            assertThatCode(() -> limiter.checkLoginAttempt(username, ip)).doesNotThrowAnyException();
+        }
+        assertThatCode(() -> limiter.checkLoginAttempt("user@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should make room by dropping a refilled bucket before a draining one")
+    void checkLoginAttempt_WhenStripeFull_ShouldPreferEvictingRefilledBuckets() {
+        // Arrange
+        properties.setStripes(1);
+        properties.setMaxEntriesPerStripe(4);
+        limiter = new LoginRateLimiter(properties, meterRegistry, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt("victim@example.com", "10.0.0.1");
+        }
+        limiter.checkLoginAttempt("other@example.com", "10.0.0.2");
+
+        // Act - only the bucket of 10.0.0.2 is full again, the rest are still draining
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(7));
+        limiter.checkLoginAttempt("new@example.com", "10.0.0.3");
+
+        // Assert
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("victim@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should take the right-most forwarded address not added by a trusted proxy")
+    void resolveClientIp_WithForwardedFor_ShouldSkipTrustedHopsOnly() {
+        // Arrange
+        properties.setTrustForwardedFor(true);
+        properties.setTrustedProxies(List.of("10.9.0.1", "10.9.0.2"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.9.0.2");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7, 10.9.0.1");
+
+        // Act & Assert
+        assertThat(limiter.resolveClientIp(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should ignore X-Forwarded-For unless it is trusted")
+    void resolveClientIp_WhenForwardedForNotTrusted_ShouldUseRemoteAddress() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+
+        // Act & Assert
+        assertThat(limiter.resolveClientIp(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should not throttle when disabled")
+    void checkLoginAttempt_WhenDisabled_ShouldAlwaysAllow() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act & Assert
+        for (int i = 0; i < 50; i++) {
+            limiter.checkLoginAttempt("user@example.com", "10.0.0.1");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.ContactTombstoneRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the streaming contact export
+ *
+ * Runs with a batch size smaller than the contact count so the export spans several batches.
+ */
+@SpringBootTest(properties = "contacts.export.batch-size=2")
+@DisplayName("ContactExportService Integration Tests")
+class ContactExportServiceTest {
+
+    @Autowired
+    private ContactExportService contactExportService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        signIn(userRepository, "export@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        tombstoneRepository.deleteAll();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write every contact as one JSON line, across batches")
+    void exportNdjson_ShouldWriteOneLinePerContact() throws Exception {
+        // Arrange
+        for (String name : List.of("Eve", "Bob", "Dan", "Ada", "Cy")) {
+            contactService.createContact(contact(name, "Example", null, "+1555" + name, "friend"));
+        }
+        StreamingResponseBody body = contactExportService.exportNdjson();
+        // The body is written without the caller's security context, as on the async thread
+        signOut();
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        // Assert
+        List<ContactDTO> exported = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            exported.add(objectMapper.readValue(line, ContactDTO.class));
+        }
+        assertThat(exported).extracting(ContactDTO::getFirstName).containsExactly("Ada", "Bob", "Cy", "Dan", "Eve");
+        assertThat(exported).allSatisfy(contact -> {
+            assertThat(contact.getPhoneNumbers()).extracting(PhoneDTO::getPhone).containsExactly("+1555" + contact.getFirstName());
+            assertThat(contact.getTags()).containsExactly("friend");
+        });
+    }
+
+    @Test
+    @DisplayName("Should page past equal first names and write with no transaction open")
+    void exportNdjson_WithEqualFirstNames_ShouldWriteEachContactOnceOutsideTransactions() throws Exception {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (String lastName : List.of("One", "Two", "Three", "Four", "Five")) {
+            ids.add(contactService.createContact(contact("Ada", lastName)).getId());
+        }
+        contactService.createContact(contact("Bob", "Six"));
+        List<Boolean> inTransaction = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                super.write(bytes, offset, length);
+            }
+        };
+
+        // Act
+        contactExportService.exportNdjson().writeTo(out);
+
+        // Assert
+        List<ContactDTO> exported = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            exported.add(objectMapper.readValue(line, ContactDTO.class));
+        }
+        assertThat(exported).extracting(ContactDTO::getId).startsWith(ids.toArray(Long[]::new)).hasSize(6);
+        assertThat(exported.get(5).getFirstName()).isEqualTo("Bob");
+        assertThat(inTransaction).isNotEmpty().containsOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an empty contact book")
+    void exportNdjson_WithNoContacts_ShouldWriteNothing() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contactExportService.exportNdjson().writeTo(out);
+
+        // Assert
+        assertThat(out.size()).isZero();
+    }
+}
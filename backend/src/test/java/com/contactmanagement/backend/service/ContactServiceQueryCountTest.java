@@ -0,0 +1,203 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSummaryDTO;
+import com.contactmanagement.backend.dto.CursorPage;
+import com.contactmanagement.backend.dto.SliceResponse;
+import com.contactmanagement.backend.entity.Contact;
+import com.contactmanagement.backend.entity.EmailAddress;
+import com.contactmanagement.backend.entity.PhoneNumber;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the statement count of ContactService list queries
+ *
+ * Runs against the H2 test database with Hibernate statistics enabled and checks that
+ * loading a page of contacts costs the same number of statements whatever the page size.
+ */
+@SpringBootTest
+@DisplayName("ContactService Query Count Tests")
+class ContactServiceQueryCountTest {
+
+    private static final int CONTACT_COUNT = 30;
+
+    /** Row page, count, then one query each for phones, emails and tags. */
+    private static final long EXPECTED_STATEMENTS = 5;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - One user with contacts that all have phones, emails and tags
+        User user = saveUser(userRepository, "query-count@example.com");
+
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < CONTACT_COUNT; i++) {
+            Contact contact = new Contact();
+            contact.setUser(user);
+            contact.setFirstName(String.format("Contact%02d", i));
+            contact.setLastName("Smith");
+            contact.setTags(new ArrayList<>(List.of("work", "tag" + i)));
+            for (int j = 0; j < 2; j++) {
+                PhoneNumber phone = new PhoneNumber();
+                phone.setPhone("+1555000" + i + j);
+                phone.setLabel("mobile");
+                phone.setContact(contact);
+                contact.getPhoneNumbers().add(phone);
+
+                EmailAddress email = new EmailAddress();
+                email.setEmail("contact" + i + "." + j + "@example.com");
+                email.setLabel("work");
+                email.setContact(contact);
+                contact.getEmailAddresses().add(email);
+            }
+            contacts.add(contact);
+        }
+        contactRepository.saveAll(contacts);
+
+        signIn(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should load a contact page in a constant number of statements")
+    void getAllContacts_ShouldUseConstantStatementCount() {
+        // Act
+        long small = countStatements(() -> contactService.getAllContacts(PageRequest.of(0, 2, Sort.by("firstName"))));
+        long large = countStatements(() -> contactService.getAllContacts(PageRequest.of(0, 25, Sort.by("firstName"))));
+        statistics.clear();
+        Page<ContactDTO> page = contactService.getAllContacts(PageRequest.of(0, 25, Sort.by("firstName")));
+
+        // Assert
+        assertThat(small).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(large).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(page.getTotalElements()).isEqualTo(CONTACT_COUNT);
+        assertThat(page.getContent()).hasSize(25);
+        assertThat(page.getContent().get(0).getFirstName()).isEqualTo("Contact00");
+        assertThat(page.getContent().get(24).getFirstName()).isEqualTo("Contact24");
+        assertThat(statistics.getEntityLoadCount()).as("list reads should not hydrate entities").isZero();
+        assertThat(page.getContent()).allSatisfy(contact -> {
+            assertThat(contact.getPhoneNumbers()).hasSize(2);
+            assertThat(contact.getEmailAddresses()).hasSize(2);
+            assertThat(contact.getTags()).hasSize(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Should search contacts in a constant number of statements")
+    void searchContacts_ShouldUseConstantStatementCount() {
+        // Arrange - The first search builds the user's index from one query per table
+        long build = countStatements(() -> contactService.searchContacts("smith", PageRequest.of(0, 2)));
+
+        // Act
+        long small = countStatements(() -> contactService.searchContacts("smith", PageRequest.of(0, 2)));
+        Page<ContactDTO> page = contactService.searchContacts("smith", PageRequest.of(1, 25));
+        long large = countStatements(() -> contactService.searchContacts("smith", PageRequest.of(0, 25)));
+
+        // Assert - Matches come from the index; only the page is hydrated, and there is no count
+        assertThat(build).isEqualTo(2 * (EXPECTED_STATEMENTS - 1));
+        assertThat(small).isEqualTo(EXPECTED_STATEMENTS - 1);
+        assertThat(large).isEqualTo(EXPECTED_STATEMENTS - 1);
+        assertThat(page.getTotalElements()).isEqualTo(CONTACT_COUNT);
+        assertThat(page.getContent()).extracting(ContactDTO::getFirstName)
+                .containsExactly("Contact25", "Contact26", "Contact27", "Contact28", "Contact29");
+    }
+
+    @Test
+    @DisplayName("Should load a slice without a count query")
+    void getContactSlice_ShouldSkipCountQuery() {
+        // Act
+        statistics.clear();
+        SliceResponse<ContactDTO> first = contactService.getContactSlice(PageRequest.of(0, 25, Sort.by("firstName")), false);
+        long statements = statistics.getPrepareStatementCount();
+        SliceResponse<ContactDTO> last = contactService.getContactSlice(PageRequest.of(1, 25, Sort.by("firstName")), false);
+
+        // Assert - slice query plus phones, emails and tags
+        assertThat(statements).isEqualTo(EXPECTED_STATEMENTS - 1);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getTotalElements()).isNull();
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getContent()).hasSize(CONTACT_COUNT - 25);
+    }
+
+    @Test
+    @DisplayName("Should scroll through all contacts without counting them")
+    void scrollContacts_ShouldWalkAllContactsWithoutCount() {
+        // Act
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        long maxStatements = 0;
+        do {
+            statistics.clear();
+            CursorPage<ContactDTO> slice = contactService.scrollContacts(cursor, 7, "firstName");
+            maxStatements = Math.max(maxStatements, statistics.getPrepareStatementCount());
+            slice.getContent().forEach(contact -> names.add(contact.getFirstName()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        // Assert - slice query plus phones, emails and tags; no count
+        assertThat(maxStatements).isEqualTo(EXPECTED_STATEMENTS - 1);
+        assertThat(names).hasSize(CONTACT_COUNT).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should load summaries from the contacts table alone")
+    void getContactSummaries_ShouldNotTouchChildTables() {
+        // Act
+        statistics.clear();
+        Page<ContactSummaryDTO> page = contactService.getContactSummaries(PageRequest.of(0, 25, Sort.by("firstName")));
+
+        // Assert - page query and count only
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(page.getContent()).hasSize(25);
+        assertThat(page.getContent()).allSatisfy(summary -> assertThat(summary.getAvatarUrl()).isNull());
+    }
+
+    private long countStatements(Supplier<Page<ContactDTO>> query) {
+        statistics.clear();
+        query.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,24 +1,43 @@
 package com.contactmanagement.backend.service;
 
+import com.contactmanagement.backend.config.ContactCacheProperties;
+import com.contactmanagement.backend.config.ContactSyncProperties;
 import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.ContactSummaryDTO;
+import com.contactmanagement.backend.dto.CursorPage;
 import com.contactmanagement.backend.dto.EmailDTO;
 import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.dto.SliceResponse;
 import com.contactmanagement.backend.entity.*;
+import com.contactmanagement.backend.exception.BadRequestException;
 import com.contactmanagement.backend.exception.CustomException;
+import com.contactmanagement.backend.exception.GoneException;
 import com.contactmanagement.backend.exception.ResourceNotFoundException;
 import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.ContactTombstoneRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.repository.projection.ContactRow;
+import com.contactmanagement.backend.repository.projection.ContactSummaryRow;
+import com.contactmanagement.backend.repository.projection.EmailRow;
+import com.contactmanagement.backend.repository.projection.PhoneRow;
+import com.contactmanagement.backend.repository.projection.TagRow;
+import com.contactmanagement.backend.search.ContactSearchIndex;
 import com.contactmanagement.backend.security.SecurityUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,9 +63,30 @@ class ContactServiceTest {
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private ContactTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private ContactCountCache contactCountCache;
+
+    @Spy
+    private ContactCache contactCache = new ContactCache(new ContactCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private ContactSyncProperties syncProperties = new ContactSyncProperties();
+
+    @Mock
+    private ContactSearchIndex searchIndex;
+
     @InjectMocks
     private ContactService contactService;
 
@@ -55,6 +95,8 @@ class ContactServiceTest {
     private ContactDTO contactDTO;
     private Pageable pageable;
 
+    private static final String IMAGE_HASH = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
     @BeforeEach
     void setUp() {
         // Arrange - Create test data used by multiple tests
@@ -70,7 +112,7 @@ class ContactServiceTest {
         testContact.setFirstName("John");
         testContact.setLastName("Doe");
         testContact.setTitle("Software Engineer");
-        testContact.setProfileImage("profile.jpg");
+        testContact.setProfileImageHash(IMAGE_HASH);
         testContact.setTags(Arrays.asList("work", "important"));
         testContact.setIsFavorite(false);
         testContact.setEmailAddresses(new ArrayList<>());
@@ -110,6 +152,9 @@ class ContactServiceTest {
         contactDTO.setPhoneNumbers(Arrays.asList(phoneDTO));
 
         pageable = PageRequest.of(0, 10);
+
+        // Writes stamp the next contact-book version
+        lenient().when(userRepository.findContactsVersionById(any())).thenReturn(Optional.of(1L));
     }
 
     // ===== Get All Contacts Tests =====
@@ -118,11 +163,17 @@ class ContactServiceTest {
     @DisplayName("Should successfully get all contacts for current user")
     void getAllContacts_ShouldReturnUserContacts() {
         // Arrange
-        List<Contact> contacts = Arrays.asList(testContact);
-        Page<Contact> contactPage = new PageImpl<>(contacts, pageable, 1);
+        List<Long> ids = List.of(testContact.getId());
+        Page<ContactRow> rowPage = new PageImpl<>(List.of(contactRow()), pageable, 1);
         
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(contactRepository.findByUserId(testUser.getId(), pageable)).thenReturn(contactPage);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findRowsByUserId(testUser.getId(), pageable)).thenReturn(rowPage);
+        when(contactRepository.findPhoneRowsByContactIdIn(ids))
+                .thenReturn(List.of(new PhoneRow(1L, 1L, "+1234567890", "mobile")));
+        when(contactRepository.findEmailRowsByContactIdIn(ids))
+                .thenReturn(List.of(new EmailRow(1L, 1L, "john@example.com", "work")));
+        when(contactRepository.findTagRowsByContactIdIn(ids))
+                .thenReturn(List.of(new TagRow(1L, "work"), new TagRow(1L, "important")));
 
         // Act
         Page<ContactDTO> result = contactService.getAllContacts(pageable);
@@ -132,18 +183,23 @@ class ContactServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getFirstName()).isEqualTo("John");
         assertThat(result.getContent().get(0).getLastName()).isEqualTo("Doe");
-        verify(securityUtils).getCurrentUser();
-        verify(contactRepository).findByUserId(testUser.getId(), pageable);
+        assertThat(result.getContent().get(0).getPhoneNumbers()).extracting(PhoneDTO::getPhone)
+                .containsExactly("+1234567890");
+        assertThat(result.getContent().get(0).getEmailAddresses()).extracting(EmailDTO::getEmail)
+                .containsExactly("john@example.com");
+        assertThat(result.getContent().get(0).getTags()).containsExactly("work", "important");
+        verify(securityUtils).getCurrentUserId();
+        verify(contactRepository).findRowsByUserId(testUser.getId(), pageable);
     }
 
     @Test
     @DisplayName("Should return empty page when user has no contacts")
     void getAllContacts_WithNoContacts_ShouldReturnEmptyPage() {
         // Arrange
-        Page<Contact> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<ContactRow> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
         
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(contactRepository.findByUserId(testUser.getId(), pageable)).thenReturn(emptyPage);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findRowsByUserId(testUser.getId(), pageable)).thenReturn(emptyPage);
 
         // Act
         Page<ContactDTO> result = contactService.getAllContacts(pageable);
@@ -152,22 +208,43 @@ class ContactServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).isEmpty();
         assertThat(result.getTotalElements()).isZero();
-        verify(contactRepository).findByUserId(testUser.getId(), pageable);
+        verify(contactRepository).findRowsByUserId(testUser.getId(), pageable);
+        verify(contactRepository, never()).findPhoneRowsByContactIdIn(any());
     }
 
     // ===== Search Contacts Tests =====
 
     @Test
-    @DisplayName("Should successfully search contacts by query")
+    @DisplayName("Should search contacts through the index and hydrate only the matches")
+    void searchContacts_WithIndex_ShouldHydrateMatchingIds() {
+        // Arrange
+        String searchQuery = "John";
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(searchIndex.isEnabled()).thenReturn(true);
+        when(searchIndex.search(testUser.getId(), searchQuery, pageable.getSort())).thenReturn(List.of(1L));
+        when(contactRepository.findRowsByUserIdAndIdIn(testUser.getId(), List.of(1L)))
+                .thenReturn(List.of(contactRow()));
+
+        // Act
+        Page<ContactDTO> result = contactService.searchContacts(searchQuery, pageable);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getFirstName()).isEqualTo("John");
+        verify(contactRepository, never()).searchContactRows(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should search contacts by query in the database when the index is disabled")
     void searchContacts_WithQuery_ShouldReturnMatchingContacts() {
         // Arrange
         String searchQuery = "John";
-        List<Contact> contacts = Arrays.asList(testContact);
-        Page<Contact> contactPage = new PageImpl<>(contacts, pageable, 1);
+        Page<ContactRow> rowPage = new PageImpl<>(List.of(contactRow()), pageable, 1);
         
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(contactRepository.searchContacts(testUser.getId(), searchQuery, pageable))
-                .thenReturn(contactPage);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.searchContactRows(testUser.getId(), "john%", null, pageable))
+                .thenReturn(rowPage);
 
         // Act
         Page<ContactDTO> result = contactService.searchContacts(searchQuery, pageable);
@@ -176,7 +253,258 @@ class ContactServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getFirstName()).isEqualTo("John");
-        verify(contactRepository).searchContacts(testUser.getId(), searchQuery, pageable);
+        verify(contactRepository).searchContactRows(testUser.getId(), "john%", null, pageable);
+    }
+
+    @Test
+    @DisplayName("Should reject a null or blank search query")
+    void searchContacts_WithBlankQuery_ShouldThrowException() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.searchContacts(null, pageable))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Search query is required");
+        assertThatThrownBy(() -> contactService.searchContactSlice("  ", pageable))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> contactService.fuzzySearchContacts("", pageable))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(contactRepository, searchIndex);
+    }
+
+    @Test
+    @DisplayName("Should reject a suggestion limit outside the allowed range")
+    void suggestContacts_WithLimitOutOfRange_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.suggestContacts("jo", 0))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> contactService.suggestContacts("jo", 21))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(searchIndex);
+    }
+
+    // ===== Contact Summary Tests =====
+
+    @Test
+    @DisplayName("Should return summaries with an avatar URL only for contacts with an image")
+    void getContactSummaries_ShouldLinkAvatarsInsteadOfInliningThem() {
+        // Arrange
+        Page<ContactSummaryRow> rows = new PageImpl<>(List.of(
+                new ContactSummaryRow(1L, "John", "Doe", "Engineer", true, IMAGE_HASH),
+                new ContactSummaryRow(2L, "Karl", "Marx", null, null, null)), pageable, 2);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(imageService.urlFor(IMAGE_HASH)).thenReturn("/api/images/" + IMAGE_HASH);
+        when(contactRepository.findSummariesByUserId(testUser.getId(), pageable)).thenReturn(rows);
+
+        // Act
+        Page<ContactSummaryDTO> result = contactService.getContactSummaries(pageable);
+
+        // Assert
+        assertThat(result.getContent()).extracting(ContactSummaryDTO::getAvatarUrl)
+                .containsExactly("/api/images/" + IMAGE_HASH, null);
+        assertThat(result.getContent()).extracting(ContactSummaryDTO::getIsFavorite).containsExactly(true, false);
+        verify(contactRepository, never()).findPhoneRowsByContactIdIn(any());
+    }
+
+    // ===== Contact Slice Tests =====
+
+    @Test
+    @DisplayName("Should return a slice without counting contacts")
+    void getContactSlice_WithoutCount_ShouldSkipCount() {
+        // Arrange
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findRowSliceByUserId(testUser.getId(), pageable))
+                .thenReturn(new SliceImpl<>(List.of(contactRow()), pageable, true));
+
+        // Act
+        SliceResponse<ContactDTO> result = contactService.getContactSlice(pageable, false);
+
+        // Assert
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.getContent()).extracting(ContactDTO::getFirstName).containsExactly("John");
+        verifyNoInteractions(contactCountCache);
+        verify(contactRepository, never()).countByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Should add the cached count to a slice when requested")
+    void getContactSlice_WithCount_ShouldUseCountCache() {
+        // Arrange
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findRowSliceByUserId(testUser.getId(), pageable))
+                .thenReturn(new SliceImpl<>(List.of(contactRow()), pageable, false));
+        when(contactCountCache.get(testUser.getId())).thenReturn(1L);
+
+        // Act
+        SliceResponse<ContactDTO> result = contactService.getContactSlice(pageable, true);
+
+        // Assert
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getTotalElements()).isEqualTo(1L);
+    }
+
+    // ===== Delta Sync Tests =====
+
+    @Test
+    @DisplayName("Should refuse a sync cursor older than the tombstone retention")
+    void getChanges_WithExpiredCursor_ShouldThrowGone() {
+        // Arrange
+        long issuedAt = System.currentTimeMillis() - syncProperties.getTombstoneRetention().toMillis() - 1000;
+        String cursor = new SyncCursor(5L, SyncCursor.ALL_IDS, issuedAt).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.getChanges(cursor)).isInstanceOf(GoneException.class);
+        verifyNoInteractions(contactRepository, tombstoneRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed sync cursor")
+    void getChanges_WithMalformedCursor_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.getChanges("not a cursor!"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    // ===== Scroll Contacts Tests =====
+
+    @Test
+    @DisplayName("Should return a cursor when more contacts follow")
+    void scrollContacts_WithMoreRows_ShouldReturnNextCursor() {
+        // Arrange
+        ContactRow second = new ContactRow(2L, "Karl", "Marx", null, null, false);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findFirstRowsByFirstName(testUser.getId(), Limit.of(2)))
+                .thenReturn(List.of(contactRow(), second));
+
+        // Act
+        CursorPage<ContactDTO> result = contactService.scrollContacts(null, 1, "firstName");
+
+        // Assert
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getContent()).extracting(ContactDTO::getFirstName).containsExactly("John");
+        assertThat(result.getNextCursor()).isNotBlank();
+        verify(contactRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Should seek past the last contact of the previous slice")
+    void scrollContacts_WithCursor_ShouldSeekAfterLastRow() {
+        // Arrange
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findFirstRowsByFirstName(testUser.getId(), Limit.of(2)))
+                .thenReturn(List.of(contactRow(), new ContactRow(2L, "Karl", "Marx", null, null, false)));
+        String cursor = contactService.scrollContacts(null, 1, "firstName").getNextCursor();
+        when(contactRepository.findRowsAfterFirstName(testUser.getId(), "John", 1L, Limit.of(2)))
+                .thenReturn(List.of(new ContactRow(2L, "Karl", "Marx", null, null, false)));
+
+        // Act
+        CursorPage<ContactDTO> result = contactService.scrollContacts(cursor, 1, "firstName");
+
+        // Assert
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getContent()).extracting(ContactDTO::getFirstName).containsExactly("Karl");
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void scrollContacts_WithMalformedCursor_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.scrollContacts("not a cursor!", 10, "firstName"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject sort keys that have no keyset index")
+    void scrollContacts_WithUnsupportedSort_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.scrollContacts(null, 10, "title"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(contactRepository);
+    }
+
+    // ===== Contact Cache Tests =====
+
+    @Test
+    @DisplayName("Should serve a repeated contact read from the cache")
+    void getContactById_WhenRepeated_ShouldReadDatabaseOnce() {
+        // Arrange
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
+
+        // Act
+        ContactDTO first = contactService.getContactById(1L);
+        ContactDTO second = contactService.getContactById(1L);
+
+        // Assert
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        verify(contactRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not let a caller's changes to a cached page reach later reads")
+    void getAllContacts_WhenCallerModifiesResult_ShouldKeepCachedPageIntact() {
+        // Arrange
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findRowsByUserId(testUser.getId(), pageable))
+                .thenReturn(new PageImpl<>(List.of(contactRow()), pageable, 1));
+        ContactDTO served = contactService.getAllContacts(pageable).getContent().get(0);
+        String firstName = served.getFirstName();
+
+        // Act
+        served.setFirstName("Changed");
+        served.getTags().add("changed");
+        ContactDTO reread = contactService.getAllContacts(pageable).getContent().get(0);
+
+        // Assert
+        assertThat(reread.getFirstName()).isEqualTo(firstName);
+        assertThat(reread.getTags()).doesNotContain("changed");
+        verify(contactRepository, times(1)).findRowsByUserId(testUser.getId(), pageable);
+    }
+
+    @Test
+    @DisplayName("Should reload a contact and its list pages after it was updated")
+    void updateContact_ShouldEvictCachedContactAndPages() {
+        // Arrange
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
+        when(contactRepository.findForUpdateById(1L)).thenReturn(Optional.of(testContact));
+        when(contactRepository.save(testContact)).thenReturn(testContact);
+        when(contactRepository.findRowsByUserId(testUser.getId(), pageable))
+                .thenReturn(new PageImpl<>(List.of(contactRow()), pageable, 1));
+        contactService.getContactById(1L);
+        contactService.getAllContacts(pageable);
+
+        // Act
+        contactService.updateContact(1L, contactDTO);
+        ContactDTO reloaded = contactService.getContactById(1L);
+        contactService.getAllContacts(pageable);
+
+        // Assert
+        assertThat(reloaded.getFirstName()).isEqualTo("Jane");
+        verify(contactRepository, times(2)).findById(1L);
+        verify(contactRepository, times(2)).findRowsByUserId(testUser.getId(), pageable);
+    }
+
+    @Test
+    @DisplayName("Should not cache a contact the user does not own")
+    void getContactById_WhenAccessDenied_ShouldNotCache() {
+        // Arrange
+        User otherUser = new User();
+        otherUser.setId(2L);
+        testContact.setUser(otherUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.getContactById(1L)).isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> contactService.getContactById(1L)).isInstanceOf(CustomException.class);
+        verify(contactRepository, times(2)).findById(1L);
     }
 
     // ===== Get Contact By ID Tests =====
@@ -185,7 +513,7 @@ class ContactServiceTest {
     @DisplayName("Should successfully get contact by ID when user owns it")
     void getContactById_WhenUserOwnsContact_ShouldReturnContact() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
 
         // Act
@@ -197,7 +525,7 @@ class ContactServiceTest {
         assertThat(result.getLastName()).isEqualTo("Doe");
         assertThat(result.getEmailAddresses()).hasSize(1);
         assertThat(result.getPhoneNumbers()).hasSize(1);
-        verify(securityUtils).getCurrentUser();
+        verify(securityUtils).getCurrentUserId();
         verify(contactRepository).findById(1L);
     }
 
@@ -205,7 +533,7 @@ class ContactServiceTest {
     @DisplayName("Should throw exception when contact not found")
     void getContactById_WhenContactNotFound_ShouldThrowException() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -224,7 +552,7 @@ class ContactServiceTest {
         differentUser.setId(2L);
         differentUser.setEmail("other@example.com");
         
-        when(securityUtils.getCurrentUser()).thenReturn(differentUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
 
         // Act & Assert
@@ -232,7 +560,7 @@ class ContactServiceTest {
                 .isInstanceOf(CustomException.class)
                 .hasMessage("Access denied");
         
-        verify(securityUtils).getCurrentUser();
+        verify(securityUtils).getCurrentUserId();
         verify(contactRepository).findById(1L);
     }
 
@@ -242,7 +570,7 @@ class ContactServiceTest {
     @DisplayName("Should successfully create contact with all fields")
     void createContact_WithAllFields_ShouldSucceed() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserReference()).thenReturn(testUser);
         when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> {
             Contact savedContact = invocation.getArgument(0);
             savedContact.setId(2L);
@@ -263,8 +591,9 @@ class ContactServiceTest {
         assertThat(result.getTags()).containsExactly("friend");
         assertThat(result.getIsFavorite()).isTrue();
         
-        verify(securityUtils).getCurrentUser();
+        verify(securityUtils).getCurrentUserReference();
         verify(contactRepository).save(any(Contact.class));
+        verify(searchIndex).put(any(), eq(result));
     }
 
     @Test
@@ -275,7 +604,7 @@ class ContactServiceTest {
         minimalDTO.setFirstName("Min");
         minimalDTO.setLastName("User");
         
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserReference()).thenReturn(testUser);
         when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> {
             Contact savedContact = invocation.getArgument(0);
             savedContact.setId(3L);
@@ -292,14 +621,32 @@ class ContactServiceTest {
         verify(contactRepository).save(any(Contact.class));
     }
 
+    @Test
+    @DisplayName("Should store an uploaded image and keep only its hash on the contact")
+    void createContact_WithImageUpload_ShouldStoreHash() {
+        // Arrange
+        contactDTO.setProfileImage("data:image/png;base64,iVBORw0K");
+        when(securityUtils.getCurrentUserReference()).thenReturn(testUser);
+        when(imageService.resolveHash("data:image/png;base64,iVBORw0K")).thenReturn(IMAGE_HASH);
+        when(imageService.urlFor(IMAGE_HASH)).thenReturn("/api/images/" + IMAGE_HASH);
+        when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ContactDTO result = contactService.createContact(contactDTO);
+
+        // Assert
+        assertThat(result.getProfileImage()).isEqualTo("/api/images/" + IMAGE_HASH);
+        verify(contactRepository).save(argThat(contact -> IMAGE_HASH.equals(contact.getProfileImageHash())));
+    }
+
     // ===== Update Contact Tests =====
 
     @Test
     @DisplayName("Should successfully update contact when user owns it")
     void updateContact_WhenUserOwnsContact_ShouldSucceed() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findForUpdateById(1L)).thenReturn(Optional.of(testContact));
         when(contactRepository.save(any(Contact.class))).thenReturn(testContact);
 
         // Act
@@ -309,8 +656,8 @@ class ContactServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("Jane");
         assertThat(result.getLastName()).isEqualTo("Smith");
-        verify(securityUtils).getCurrentUser();
-        verify(contactRepository).findById(1L);
+        verify(securityUtils).getCurrentUserId();
+        verify(contactRepository).findForUpdateById(1L);
         verify(contactRepository).save(testContact);
     }
 
@@ -318,8 +665,8 @@ class ContactServiceTest {
     @DisplayName("Should throw exception when updating non-existent contact")
     void updateContact_WhenContactNotFound_ShouldThrowException() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(contactRepository.findById(999L)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contactRepository.findForUpdateById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> contactService.updateContact(999L, contactDTO))
@@ -336,8 +683,8 @@ class ContactServiceTest {
         User differentUser = new User();
         differentUser.setId(2L);
         
-        when(securityUtils.getCurrentUser()).thenReturn(differentUser);
-        when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
+        when(securityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
+        when(contactRepository.findForUpdateById(1L)).thenReturn(Optional.of(testContact));
 
         // Act & Assert
         assertThatThrownBy(() -> contactService.updateContact(1L, contactDTO))
@@ -353,23 +700,28 @@ class ContactServiceTest {
     @DisplayName("Should successfully delete contact when user owns it")
     void deleteContact_WhenUserOwnsContact_ShouldSucceed() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
 
         // Act
         contactService.deleteContact(1L);
 
         // Assert
-        verify(securityUtils).getCurrentUser();
+        verify(securityUtils).getCurrentUserId();
         verify(contactRepository).findById(1L);
         verify(contactRepository).delete(testContact);
+        verify(contactCountCache).invalidate(testUser.getId());
+        verify(userRepository).incrementContactsVersion(testUser.getId());
+        verify(tombstoneRepository).save(argThat(tombstone ->
+                tombstone.getContactId().equals(1L) && tombstone.getChangeSeq() == 1L));
+        verify(searchIndex).remove(testUser.getId(), 1L);
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent contact")
     void deleteContact_WhenContactNotFound_ShouldThrowException() {
         // Arrange
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -387,7 +739,7 @@ class ContactServiceTest {
         User differentUser = new User();
         differentUser.setId(2L);
         
-        when(securityUtils.getCurrentUser()).thenReturn(differentUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
 
         // Act & Assert
@@ -405,7 +757,7 @@ class ContactServiceTest {
     void toggleFavorite_FromFalseToTrue_ShouldSucceed() {
         // Arrange
         testContact.setIsFavorite(false);
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
         when(contactRepository.save(testContact)).thenReturn(testContact);
 
@@ -416,6 +768,7 @@ class ContactServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getIsFavorite()).isTrue();
         verify(contactRepository).save(testContact);
+        verify(contactCache).evictContact(testUser.getId(), 1L);
     }
 
     @Test
@@ -423,7 +776,7 @@ class ContactServiceTest {
     void toggleFavorite_FromTrueToFalse_ShouldSucceed() {
         // Arrange
         testContact.setIsFavorite(true);
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
         when(contactRepository.save(testContact)).thenReturn(testContact);
 
@@ -441,7 +794,7 @@ class ContactServiceTest {
     void toggleFavorite_WithNullFavorite_ShouldTreatAsFalse() {
         // Arrange
         testContact.setIsFavorite(null);
-        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
         when(contactRepository.save(testContact)).thenReturn(testContact);
 
@@ -461,7 +814,7 @@ class ContactServiceTest {
         User differentUser = new User();
         differentUser.setId(2L);
         
-        when(securityUtils.getCurrentUser()).thenReturn(differentUser);
+        when(securityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
         when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
 
         // Act & Assert
@@ -471,4 +824,9 @@ class ContactServiceTest {
         
         verify(contactRepository, never()).save(any(Contact.class));
     }
+
+    private ContactRow contactRow() {
+        return new ContactRow(testContact.getId(), testContact.getFirstName(), testContact.getLastName(),
+                testContact.getTitle(), testContact.getProfileImageHash(), testContact.getIsFavorite());
+    }
 }
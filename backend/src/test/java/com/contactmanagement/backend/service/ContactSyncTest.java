@@ -0,0 +1,132 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.dto.ContactChanges;
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.ContactTombstoneRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for delta sync
+ *
+ * Runs with a small change limit so catching up takes several calls.
+ */
+@SpringBootTest(properties = "contacts.sync.max-changes=2")
+@DisplayName("Contact Sync Integration Tests")
+class ContactSyncTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        signIn(userRepository, "sync@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        tombstoneRepository.deleteAll();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should page through all contacts on the first sync")
+    void getChanges_WithoutCursor_ShouldReturnAllContacts() {
+        // Arrange
+        for (String name : List.of("Ada", "Grace", "Linus")) {
+            contactService.createContact(contact(name, "Example"));
+        }
+
+        // Act
+        List<String> names = new ArrayList<>();
+        ContactChanges changes = contactService.getChanges(null);
+        changes.getUpserts().forEach(c -> names.add(c.getFirstName()));
+        boolean firstHasMore = changes.isHasMore();
+        changes = contactService.getChanges(changes.getCursor());
+        changes.getUpserts().forEach(c -> names.add(c.getFirstName()));
+
+        // Assert
+        assertThat(firstHasMore).isTrue();
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(names).containsExactly("Ada", "Grace", "Linus");
+    }
+
+    @Test
+    @DisplayName("Should return only what changed since the cursor")
+    void getChanges_WithCursor_ShouldReturnUpsertsAndDeletions() {
+        // Arrange
+        ContactDTO ada = contactService.createContact(contact("Ada", "Example"));
+        ContactDTO grace = contactService.createContact(contact("Grace", "Example"));
+        String cursor = contactService.getChanges(null).getCursor();
+
+        contactService.toggleFavorite(ada.getId());
+        contactService.deleteContact(grace.getId());
+
+        // Act
+        ContactChanges changes = contactService.getChanges(cursor);
+        ContactChanges nothing = contactService.getChanges(changes.getCursor());
+
+        // Assert
+        assertThat(changes.getUpserts()).extracting(ContactDTO::getId).containsExactly(ada.getId());
+        assertThat(changes.getUpserts().get(0).getIsFavorite()).isTrue();
+        assertThat(changes.getDeletions()).containsExactly(grace.getId());
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(nothing.getUpserts()).isEmpty();
+        assertThat(nothing.getDeletions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page contacts written before change tracking a few at a time")
+    void getChanges_WithLegacyContacts_ShouldStayWithinMaxChanges() {
+        // Arrange - five contacts that all carry sequence 0
+        for (String name : List.of("Ada", "Grace", "Linus", "Alan", "Edsger")) {
+            contactService.createContact(contact(name, "Example"));
+        }
+        jdbcTemplate.update("UPDATE contacts SET change_seq = 0");
+
+        // Act
+        List<String> names = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        ContactChanges changes = contactService.getChanges(null);
+        while (true) {
+            changes.getUpserts().forEach(c -> names.add(c.getFirstName()));
+            sizes.add(changes.getUpserts().size());
+            if (!changes.isHasMore()) {
+                break;
+            }
+            changes = contactService.getChanges(changes.getCursor());
+        }
+
+        // Assert
+        assertThat(sizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(2));
+        assertThat(names).containsExactly("Ada", "Grace", "Linus", "Alan", "Edsger");
+        assertThat(contactService.getChanges(changes.getCursor()).getUpserts()).isEmpty();
+    }
+}
@@ -0,0 +1,194 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.dto.UserProfileDTO;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.ContactRepository;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.contactmanagement.backend.support.TestFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the versions behind contact ETags
+ *
+ * Every write must move the contact-book tag, and a write that only touches a contact's
+ * child rows must still move that contact's own tag.
+ */
+@SpringBootTest
+@DisplayName("Contact Version Integration Tests")
+class ContactVersionTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = signIn(userRepository, "versions@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        signOut();
+        contactRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should change the contact-book tag on every write")
+    void writes_ShouldChangeContactsETag() {
+        // Arrange
+        List<String> tags = new ArrayList<>();
+        tags.add(contactService.getContactsETag());
+
+        // Act
+        ContactDTO created = contactService.createContact(contact("+15550001"));
+        tags.add(contactService.getContactsETag());
+        contactService.updateContact(created.getId(), contact("+15550002"));
+        tags.add(contactService.getContactsETag());
+        contactService.toggleFavorite(created.getId());
+        tags.add(contactService.getContactsETag());
+        contactService.deleteContact(created.getId());
+        tags.add(contactService.getContactsETag());
+
+        // Assert
+        assertThat(tags).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should change a contact's tag when only its phone numbers change")
+    void updateContact_WithChildRowsOnly_ShouldChangeContactETag() {
+        // Arrange
+        ContactDTO created = contactService.createContact(contact("+15550001"));
+        String before = contactService.findContactETag(created.getId()).orElseThrow();
+
+        // Act
+        contactService.updateContact(created.getId(), contact("+15550002"));
+
+        // Assert
+        assertThat(contactService.findContactETag(created.getId())).isPresent().get().isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should not tag contacts of other users")
+    void findContactETag_ForOtherUsersContact_ShouldBeEmpty() {
+        // Arrange
+        ContactDTO created = contactService.createContact(contact("+15550001"));
+        signIn(-1L, "someone@example.com");
+
+        // Act & Assert
+        assertThat(contactService.findContactETag(created.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent updates of one contact one after the other")
+    void updateContact_Concurrently_ShouldApplyBothUpdates() throws Exception {
+        // Arrange
+        Long contactId = contactService.createContact(contact("+15550001")).getId();
+        long before = userRepository.findContactsVersionById(user.getId()).orElseThrow();
+        int rounds = 10;
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        CyclicBarrier start = new CyclicBarrier(2);
+
+        // Act
+        List<Future<ContactDTO>> updates = new ArrayList<>();
+        try {
+            for (int round = 0; round < rounds; round++) {
+                for (String phone : List.of("+15550002", "+15550003")) {
+                    updates.add(clients.submit(() -> {
+                        signIn(user);
+                        try {
+                            start.await(5, TimeUnit.SECONDS);
+                            return contactService.updateContact(contactId, contact(phone));
+                        } finally {
+                            signOut();
+                        }
+                    }));
+                }
+                for (Future<ContactDTO> update : updates) {
+                    update.get(10, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        // Assert
+        assertThat(updates).hasSize(2 * rounds);
+        assertThat(userRepository.findContactsVersionById(user.getId())).contains(before + 2 * rounds);
+        assertThat(contactService.getContactById(contactId).getPhoneNumbers())
+                .extracting(PhoneDTO::getPhone).singleElement().isIn("+15550002", "+15550003");
+    }
+
+    @Test
+    @DisplayName("Should keep the contact-book version when a profile update commits after a contact write")
+    void updateUserProfile_ConcurrentWithContactWrite_ShouldNotRollBackVersion() throws Exception {
+        // Arrange
+        contactService.createContact(contact("+15550001"));
+        long before = userRepository.findContactsVersionById(user.getId()).orElseThrow();
+        UserProfileDTO profile = new UserProfileDTO();
+        profile.setFirstName("Grace");
+        ExecutorService client = Executors.newSingleThreadExecutor();
+
+        // Act - the profile update has loaded the user before the contact write commits
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                userService.updateUserProfile(profile);
+                try {
+                    client.submit(() -> {
+                        signIn(user);
+                        try {
+                            return contactService.createContact(contact("+15550002"));
+                        } finally {
+                            signOut();
+                        }
+                    }).get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            client.shutdownNow();
+        }
+
+        // Assert
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getFirstName).isEqualTo("Grace");
+        assertThat(userRepository.findContactsVersionById(user.getId())).contains(before + 1);
+    }
+
+    private static ContactDTO contact(String phoneNumber) {
+        return TestFixtures.contact("Ada", "Lovelace", null, phoneNumber, null);
+    }
+}
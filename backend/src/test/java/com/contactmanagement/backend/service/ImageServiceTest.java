@@ -0,0 +1,103 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.BlobStorageProperties;
+import com.contactmanagement.backend.exception.BadRequestException;
+import com.contactmanagement.backend.storage.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageService
+ *
+ * Uses a real BlobStore on a temporary directory; thumbnail generation is mocked.
+ */
+@DisplayName("ImageService Unit Tests")
+class ImageServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3, 4};
+
+    @TempDir
+    Path blobDirectory;
+
+    private ThumbnailService thumbnailService;
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailService = mock(ThumbnailService.class);
+        BlobStorageProperties properties = new BlobStorageProperties();
+        properties.setDirectory(blobDirectory.toString());
+        properties.setMaxImageBytes(1024);
+        imageService = new ImageService(new BlobStore(properties), properties, thumbnailService);
+    }
+
+    @Test
+    @DisplayName("Should store identical uploads once under their content hash")
+    void resolveHash_WithSameUploadTwice_ShouldDeduplicate() throws Exception {
+        // Act
+        String first = imageService.resolveHash(dataUrl("image/png", PNG));
+        String second = imageService.resolveHash(dataUrl("image/png", PNG));
+
+        // Assert
+        assertThat(first).isEqualTo(second).isEqualTo(BlobStore.hash(PNG));
+        try (var files = Files.walk(blobDirectory)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+        assertThat(imageService.find(first, null)).hasValueSatisfying(image ->
+                assertThat(image.mediaType()).isEqualTo("image/png"));
+        verify(thumbnailService, times(2)).schedule(first);
+    }
+
+    @Test
+    @DisplayName("Should keep the current image when its URL is sent back")
+    void resolveHash_WithStoredImageUrl_ShouldReturnItsHash() {
+        // Arrange
+        String hash = imageService.resolveHash(dataUrl("image/png", PNG));
+
+        // Act
+        String resolved = imageService.resolveHash("http://localhost:8080" + imageService.urlFor(hash) + "?size=96");
+
+        // Assert
+        assertThat(resolved).isEqualTo(hash);
+    }
+
+    @Test
+    @DisplayName("Should serve the original with a short cache lifetime while a thumbnail is pending")
+    void find_WithSizeBeforeThumbnailExists_ShouldServeOriginalAsPending() {
+        // Arrange
+        String hash = imageService.resolveHash(dataUrl("image/png", PNG));
+        when(thumbnailService.findSmallestAtLeast(hash, 96)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(imageService.find(hash, 96)).hasValueSatisfying(image -> {
+            assertThat(image.etag()).isEqualTo(hash);
+            assertThat(image.immutable()).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject content that is not a supported image")
+    void resolveHash_WithNonImageContent_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> imageService.resolveHash(dataUrl("image/png", "<svg/>".getBytes())))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> imageService.resolveHash(dataUrl("image/png", new byte[2048])))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> imageService.resolveHash("https://example.com/avatar.png"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static String dataUrl(String mediaType, byte[] bytes) {
+        return "data:" + mediaType + ";base64," + Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,116 @@
+package com.contactmanagement.backend.service;
+
+import com.contactmanagement.backend.config.BlobStorageProperties;
+import com.contactmanagement.backend.config.ThumbnailProperties;
+import com.contactmanagement.backend.storage.BlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ThumbnailService
+ *
+ * Generation is invoked directly so the tests do not depend on the worker pool.
+ */
+@DisplayName("ThumbnailService Unit Tests")
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path blobDirectory;
+
+    private BlobStore blobStore;
+    private ThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        BlobStorageProperties blobProperties = new BlobStorageProperties();
+        blobProperties.setDirectory(blobDirectory.toString());
+        blobStore = new BlobStore(blobProperties);
+        thumbnailService = new ThumbnailService(blobStore, new ThumbnailProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should produce square variants and serve the smallest that covers the request")
+    void generate_WithLargeImage_ShouldStoreAllSizes() throws Exception {
+        // Arrange
+        String hash = blobStore.store(png(400, 300));
+
+        // Act
+        thumbnailService.generate(hash);
+
+        // Assert
+        for (int size : new int[]{48, 96, 192}) {
+            Path variant = blobStore.findVariant(hash, String.valueOf(size)).orElseThrow();
+            BufferedImage image = ImageIO.read(variant.toFile());
+            assertThat(image.getWidth()).isEqualTo(size);
+            assertThat(image.getHeight()).isEqualTo(size);
+        }
+        assertThat(thumbnailService.findSmallestAtLeast(hash, 80))
+                .hasValueSatisfying(variant -> assertThat(variant.size()).isEqualTo(96));
+        assertThat(thumbnailService.isComplete(hash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not upscale images smaller than a variant")
+    void generate_WithSmallImage_ShouldSkipLargerSizes() throws Exception {
+        // Arrange
+        String hash = blobStore.store(png(64, 64));
+
+        // Act
+        thumbnailService.generate(hash);
+
+        // Assert
+        assertThat(blobStore.findVariant(hash, "48")).isPresent();
+        assertThat(blobStore.findVariant(hash, "96")).isEmpty();
+        assertThat(thumbnailService.findSmallestAtLeast(hash, 96)).isEmpty();
+        assertThat(thumbnailService.isComplete(hash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip images whose declared dimensions exceed the pixel limit without decoding them")
+    void generate_WithOversizedImage_ShouldStoreNoVariants() throws Exception {
+        // Arrange
+        ThumbnailProperties properties = new ThumbnailProperties();
+        properties.setMaxPixels(100_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        thumbnailService.shutdown();
+        thumbnailService = new ThumbnailService(blobStore, properties, meterRegistry);
+        String hash = blobStore.store(png(400, 300));
+
+        // Act
+        thumbnailService.generate(hash);
+
+        // Assert
+        assertThat(blobStore.findVariant(hash, "48")).isEmpty();
+        assertThat(thumbnailService.isComplete(hash)).isTrue();
+        assertThat(meterRegistry.counter("thumbnails.oversized").count()).isEqualTo(1.0);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -4,8 +4,13 @@ import com.contactmanagement.backend.dto.*;
 import com.contactmanagement.backend.entity.User;
 import com.contactmanagement.backend.exception.CustomException;
 import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.repository.projection.UserIdentifiers;
+import com.contactmanagement.backend.security.JwtClaims;
 import com.contactmanagement.backend.security.JwtUtil;
+import com.contactmanagement.backend.security.PasswordHasher;
+import com.contactmanagement.backend.security.PrincipalCache;
 import com.contactmanagement.backend.security.SecurityUtils;
+import com.contactmanagement.backend.security.TokenRevocationList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,8 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -37,7 +43,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtil;
@@ -45,6 +51,12 @@ class UserServiceTest {
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     @InjectMocks
     private UserService userService;
 
@@ -80,8 +92,9 @@ class UserServiceTest {
     @DisplayName("Should successfully register user with valid email")
     void registerUser_WithValidEmail_ShouldSucceed() {
         // Arrange
-        when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.findIdentifiersByEmailOrPhoneNumber(registerRequest.getEmail(), null))
+                .thenReturn(List.of());
+        when(passwordHasher.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
             User savedUser = invocation.getArgument(0);
             savedUser.setId(1L);
@@ -95,8 +108,8 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getEmail()).isEqualTo(registerRequest.getEmail());
-        verify(userRepository).existsByEmail(registerRequest.getEmail());
-        verify(passwordEncoder).encode(registerRequest.getPassword());
+        verify(userRepository).findIdentifiersByEmailOrPhoneNumber(registerRequest.getEmail(), null);
+        verify(passwordHasher).encode(registerRequest.getPassword());
         verify(userRepository).save(any(User.class));
     }
 
@@ -106,8 +119,9 @@ class UserServiceTest {
         // Arrange
         registerRequest.setEmail(null);
         registerRequest.setPhoneNumber("+1234567890");
-        when(userRepository.existsByPhoneNumber(registerRequest.getPhoneNumber())).thenReturn(false);
-        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.findIdentifiersByEmailOrPhoneNumber(null, registerRequest.getPhoneNumber()))
+                .thenReturn(List.of());
+        when(passwordHasher.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
             User savedUser = invocation.getArgument(0);
             savedUser.setId(1L);
@@ -120,22 +134,40 @@ class UserServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getPhoneNumber()).isEqualTo(registerRequest.getPhoneNumber());
-        verify(userRepository).existsByPhoneNumber(registerRequest.getPhoneNumber());
+        verify(userRepository).findIdentifiersByEmailOrPhoneNumber(null, registerRequest.getPhoneNumber());
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Should store phone number in normalized form")
+    void registerUser_WithFormattedPhone_ShouldNormalize() {
+        // Arrange
+        registerRequest.setEmail(null);
+        registerRequest.setPhoneNumber(" +1 (234) 567-890 ");
+        when(userRepository.findIdentifiersByEmailOrPhoneNumber(null, "+1234567890")).thenReturn(List.of());
+        when(passwordHasher.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        User result = userService.registerUser(registerRequest);
+
+        // Assert
+        assertThat(result.getPhoneNumber()).isEqualTo("+1234567890");
+        verify(userRepository).findIdentifiersByEmailOrPhoneNumber(null, "+1234567890");
+    }
+
     @Test
     @DisplayName("Should throw exception when email already exists")
     void registerUser_WithExistingEmail_ShouldThrowException() {
         // Arrange
-        when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
+        when(userRepository.findIdentifiersByEmailOrPhoneNumber(registerRequest.getEmail(), null))
+                .thenReturn(List.of(new UserIdentifiers(registerRequest.getEmail(), null)));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.registerUser(registerRequest))
                 .isInstanceOf(CustomException.class)
                 .hasMessage("Email already registered");
         
-        verify(userRepository).existsByEmail(registerRequest.getEmail());
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -144,15 +176,14 @@ class UserServiceTest {
     void registerUser_WithExistingPhone_ShouldThrowException() {
         // Arrange
         registerRequest.setPhoneNumber("+1234567890");
-        when(userRepository.existsByEmail(any())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(registerRequest.getPhoneNumber())).thenReturn(true);
+        when(userRepository.findIdentifiersByEmailOrPhoneNumber(registerRequest.getEmail(), "+1234567890"))
+                .thenReturn(List.of(new UserIdentifiers("someone@example.com", "+1234567890")));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.registerUser(registerRequest))
                 .isInstanceOf(CustomException.class)
                 .hasMessage("Phone number already registered");
         
-        verify(userRepository).existsByPhoneNumber(registerRequest.getPhoneNumber());
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -177,9 +208,9 @@ class UserServiceTest {
     @DisplayName("Should successfully login with email and correct password")
     void login_WithEmailAndCorrectPassword_ShouldSucceed() {
         // Arrange
-        when(userRepository.findByEmail(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
-        when(jwtUtil.generateToken(testUser.getEmail())).thenReturn("jwt-token-123");
+        when(userRepository.findByIdentifier(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
+        when(jwtUtil.generateToken(testUser.getEmail(), testUser.getId(), 0)).thenReturn("jwt-token-123");
 
         // Act
         LoginResponse response = userService.login(loginRequest);
@@ -188,9 +219,9 @@ class UserServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getToken()).isEqualTo("jwt-token-123");
         assertThat(response.getMessage()).isEqualTo("Login successful");
-        verify(userRepository).findByEmail(loginRequest.getUsername());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), testUser.getPassword());
-        verify(jwtUtil).generateToken(testUser.getEmail());
+        verify(userRepository).findByIdentifier(loginRequest.getUsername());
+        verify(passwordHasher).matches(loginRequest.getPassword(), testUser.getPassword());
+        verify(jwtUtil).generateToken(testUser.getEmail(), testUser.getId(), 0);
     }
 
     @Test
@@ -199,10 +230,9 @@ class UserServiceTest {
         // Arrange
         testUser.setEmail(null);
         loginRequest.setUsername(testUser.getPhoneNumber());
-        when(userRepository.findByEmail(loginRequest.getUsername())).thenReturn(Optional.empty());
-        when(userRepository.findByPhoneNumber(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
-        when(jwtUtil.generateToken(testUser.getPhoneNumber())).thenReturn("jwt-token-456");
+        when(userRepository.findByIdentifier(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
+        when(jwtUtil.generateToken(testUser.getPhoneNumber(), testUser.getId(), 0)).thenReturn("jwt-token-456");
 
         // Act
         LoginResponse response = userService.login(loginRequest);
@@ -210,41 +240,58 @@ class UserServiceTest {
         // Assert
         assertThat(response).isNotNull();
         assertThat(response.getToken()).isEqualTo("jwt-token-456");
-        verify(userRepository).findByPhoneNumber(loginRequest.getUsername());
-        verify(jwtUtil).generateToken(testUser.getPhoneNumber());
+        verify(userRepository).findByIdentifier(loginRequest.getUsername());
+        verify(jwtUtil).generateToken(testUser.getPhoneNumber(), testUser.getId(), 0);
+    }
+
+    @Test
+    @DisplayName("Should rehash password stored with an outdated cost on successful login")
+    void login_WithOutdatedHash_ShouldRehashPassword() {
+        // Arrange
+        when(userRepository.findByIdentifier(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches(loginRequest.getPassword(), "encodedPassword")).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode(loginRequest.getPassword())).thenReturn("rehashedPassword");
+        when(jwtUtil.generateToken(testUser.getEmail(), testUser.getId(), 0)).thenReturn("jwt-token-123");
+
+        // Act
+        LoginResponse response = userService.login(loginRequest);
+
+        // Assert
+        assertThat(response.getToken()).isEqualTo("jwt-token-123");
+        assertThat(testUser.getPassword()).isEqualTo("rehashedPassword");
+        verify(userRepository).save(testUser);
     }
 
     @Test
     @DisplayName("Should throw exception when user not found")
     void login_WithNonExistentUser_ShouldThrowException() {
         // Arrange
-        when(userRepository.findByEmail(loginRequest.getUsername())).thenReturn(Optional.empty());
-        when(userRepository.findByPhoneNumber(loginRequest.getUsername())).thenReturn(Optional.empty());
+        when(userRepository.findByIdentifier(loginRequest.getUsername())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> userService.login(loginRequest))
                 .isInstanceOf(CustomException.class)
                 .hasMessage("Invalid username or password");
         
-        verify(userRepository).findByEmail(loginRequest.getUsername());
-        verify(userRepository).findByPhoneNumber(loginRequest.getUsername());
-        verify(jwtUtil, never()).generateToken(any());
+        verify(userRepository).findByIdentifier(loginRequest.getUsername());
+        verify(jwtUtil, never()).generateToken(any(), any(), anyInt());
     }
 
     @Test
     @DisplayName("Should throw exception when password is incorrect")
     void login_WithIncorrectPassword_ShouldThrowException() {
         // Arrange
-        when(userRepository.findByEmail(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(false);
+        when(userRepository.findByIdentifier(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> userService.login(loginRequest))
                 .isInstanceOf(CustomException.class)
                 .hasMessage("Invalid username or password");
         
-        verify(passwordEncoder).matches(loginRequest.getPassword(), testUser.getPassword());
-        verify(jwtUtil, never()).generateToken(any());
+        verify(passwordHasher).matches(loginRequest.getPassword(), testUser.getPassword());
+        verify(jwtUtil, never()).generateToken(any(), any(), anyInt());
     }
 
     // ===== Get Profile Tests =====
@@ -279,18 +326,22 @@ class UserServiceTest {
         request.setNewPassword("newPassword123");
         
         when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(passwordEncoder.matches(request.getCurrentPassword(), testUser.getPassword())).thenReturn(true);
-        when(passwordEncoder.encode(request.getNewPassword())).thenReturn("encodedNewPassword");
+        when(passwordHasher.matches(request.getCurrentPassword(), testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(request.getNewPassword())).thenReturn("encodedNewPassword");
         when(userRepository.save(testUser)).thenReturn(testUser);
+        when(jwtUtil.generateToken(testUser.getEmail(), testUser.getId(), 1)).thenReturn("jwt-token-v1");
 
         // Act
-        userService.changePassword(request);
+        String token = userService.changePassword(request);
 
         // Assert
+        assertThat(token).isEqualTo("jwt-token-v1");
+        assertThat(testUser.getTokenVersion()).isEqualTo(1);
         verify(securityUtils).getCurrentUser();
-        verify(passwordEncoder).matches(anyString(), anyString());
-        verify(passwordEncoder).encode(anyString());
+        verify(passwordHasher).matches(anyString(), anyString());
+        verify(passwordHasher).encode(anyString());
         verify(userRepository).save(testUser);
+        verify(principalCache).evict(testUser.getEmail(), testUser.getPhoneNumber());
     }
 
     @Test
@@ -302,15 +353,34 @@ class UserServiceTest {
         request.setNewPassword("newPassword123");
         
         when(securityUtils.getCurrentUser()).thenReturn(testUser);
-        when(passwordEncoder.matches(request.getCurrentPassword(), testUser.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(request.getCurrentPassword(), testUser.getPassword())).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> userService.changePassword(request))
                 .isInstanceOf(CustomException.class)
                 .hasMessage("Current password is incorrect");
         
-        verify(passwordEncoder).matches(request.getCurrentPassword(), testUser.getPassword());
+        verify(passwordHasher).matches(request.getCurrentPassword(), testUser.getPassword());
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(principalCache);
+    }
+
+    // ===== Logout Tests =====
+
+    @Test
+    @DisplayName("Should revoke the current token on logout")
+    void logout_ShouldRevokeCurrentToken() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        JwtClaims claims = new JwtClaims("token-id", testUser.getEmail(), testUser.getId(), 0,
+                Instant.now(), expiresAt);
+        when(securityUtils.getCurrentTokenClaims()).thenReturn(claims);
+
+        // Act
+        userService.logout();
+
+        // Assert
+        verify(tokenRevocationList).revoke("token-id", expiresAt);
     }
 
     // ===== Update Profile Tests =====
@@ -319,6 +389,7 @@ class UserServiceTest {
     @DisplayName("Should successfully update user profile")
     void updateUserProfile_WithValidData_ShouldSucceed() {
         // Arrange
+        String previousEmail = testUser.getEmail();
         UserProfileDTO updateDTO = new UserProfileDTO();
         updateDTO.setFirstName("UpdatedFirst");
         updateDTO.setLastName("UpdatedLast");
@@ -338,6 +409,7 @@ class UserServiceTest {
         verify(securityUtils).getCurrentUser();
         verify(userRepository).existsByEmail(updateDTO.getEmail());
         verify(userRepository).save(testUser);
+        verify(principalCache).evict(previousEmail, testUser.getPhoneNumber());
     }
 
     @Test
@@ -390,5 +462,6 @@ class UserServiceTest {
         // Assert
         verify(securityUtils).getCurrentUser();
         verify(userRepository).delete(testUser);
+        verify(principalCache).evict(testUser.getEmail(), testUser.getPhoneNumber());
     }
 }
@@ -0,0 +1,92 @@
+package com.contactmanagement.backend.support;
+
+import com.contactmanagement.backend.dto.ContactDTO;
+import com.contactmanagement.backend.dto.EmailDTO;
+import com.contactmanagement.backend.dto.PhoneDTO;
+import com.contactmanagement.backend.entity.User;
+import com.contactmanagement.backend.repository.UserRepository;
+import com.contactmanagement.backend.security.AuthenticatedUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup for integration tests that call services as a signed-in user
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Save a user that can only be signed in through {@link #signIn(User)}.
+     */
+    public static User saveUser(UserRepository userRepository, String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("not-a-real-hash");
+        return userRepository.save(user);
+    }
+
+    /**
+     * Save a user and make it the current principal.
+     */
+    public static User signIn(UserRepository userRepository, String email) {
+        User user = saveUser(userRepository, email);
+        signIn(user);
+        return user;
+    }
+
+    public static void signIn(User user) {
+        signIn(user.getId(), user.getEmail());
+    }
+
+    public static void signIn(Long userId, String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, email, 0), null, List.of()));
+    }
+
+    public static void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    public static ContactDTO contact(String firstName, String lastName) {
+        ContactDTO contact = new ContactDTO();
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        return contact;
+    }
+
+    /**
+     * Contact with one work email, one mobile number and one tag; null values are left out.
+     */
+    public static ContactDTO contact(String firstName, String lastName, String email, String phone, String tag) {
+        ContactDTO contact = contact(firstName, lastName);
+        if (email != null) {
+            contact.setEmailAddresses(List.of(email(email, "work")));
+        }
+        if (phone != null) {
+            contact.setPhoneNumbers(List.of(phone(phone, "mobile")));
+        }
+        if (tag != null) {
+            contact.setTags(new ArrayList<>(List.of(tag)));
+        }
+        return contact;
+    }
+
+    public static EmailDTO email(String address, String label) {
+        EmailDTO email = new EmailDTO();
+        email.setEmail(address);
+        email.setLabel(label);
+        return email;
+    }
+
+    public static PhoneDTO phone(String number, String label) {
+        PhoneDTO phone = new PhoneDTO();
+        phone.setPhone(number);
+        phone.setLabel(label);
+        return phone;
+    }
+}
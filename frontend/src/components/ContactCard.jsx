@@ -22,7 +22,7 @@ const ContactCard = ({ contact, onEdit, onDelete, onView }) => {
       <div className="contact-avatar">
         {contact.profileImage && contact.profileImage.trim() !== '' ? (
           <img 
-            src={contact.profileImage} 
+            src={contact.profileImage.includes('/api/images/') ? `${contact.profileImage}?size=120` : contact.profileImage} 
             alt={`${contact.firstName} ${contact.lastName}`} 
             className="contact-avatar-img" 
             onError={(e) => {
@@ -134,8 +134,9 @@ const ContactModal = ({ isOpen, onClose, onSave, contact, mode }) => {
       ...formData,
       phoneNumbers: formData.phoneNumbers.filter(p => p.phone.trim() !== ''),
       emailAddresses: formData.emailAddresses.filter(e => e.email.trim() !== ''),
-      // Only send profileImage if it's a new upload or in create mode
-      profileImage: (mode === 'edit' && !newImageUploaded) ? contact.profileImage : formData.profileImage
+      // Only send profileImage if it's a new upload or in create mode;
+      // null keeps the stored image without re-uploading it
+      profileImage: (mode === 'edit' && !newImageUploaded) ? null : formData.profileImage
     };
     
     onSave(filteredData);
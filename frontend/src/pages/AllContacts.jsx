@@ -9,6 +9,10 @@ import LoadingSpinner from '../components/LoadingSpinner';
 import { useAuth } from '../context/AuthContext';
 import './AllContacts.css';
 
+// Stored images accept a size parameter and return a thumbnail (2x the rendered size for sharp avatars)
+const avatarSrc = (profileImage, pixels) =>
+  profileImage.includes('/api/images/') ? `${profileImage}?size=${pixels}` : profileImage;
+
 // Reusable Component: Avatar with image fallback
 const ContactAvatar = ({ contact, getInitials, onImageError, size = 'default' }) => {
   const sizeClasses = {
@@ -16,12 +20,17 @@ const ContactAvatar = ({ contact, getInitials, onImageError, size = 'default' })
     default: 'w-10 h-10 text-sm',
     large: 'w-24 h-24 text-2xl'
   };
+  const sizePixels = {
+    small: 96,
+    default: 96,
+    large: 192
+  };
 
   return (
     <div className={`${sizeClasses[size]} rounded-full bg-zinc-800 flex items-center justify-center font-medium overflow-hidden flex-shrink-0 ${size === 'large' ? 'border-2 border-zinc-800' : ''}`}>
       {contact.profileImage && contact.profileImage.trim() !== '' ? (
         <img 
-          src={contact.profileImage} 
+          src={avatarSrc(contact.profileImage, sizePixels[size])} 
           alt={`${contact.firstName} ${contact.lastName}`} 
           className="w-full h-full object-cover" 
           onError={(e) => onImageError(e, contact)}
@@ -150,6 +159,7 @@ const AllContacts = () => {
   const [contacts, setContacts] = useState([]);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
   const [selectedContact, setSelectedContact] = useState(null);
   const [activeTab, setActiveTab] = useState('contacts');
   const [isModalOpen, setIsModalOpen] = useState(false);
@@ -216,6 +226,26 @@ const AllContacts = () => {
     return () => window.removeEventListener('resize', handleResize);
   }, []);
 
+  // Typeahead: ask the server as the user types; responses to older keystrokes are dropped
+  useEffect(() => {
+    const prefix = searchQuery.trim();
+    if (!prefix) {
+      setSuggestions([]);
+      return undefined;
+    }
+    let current = true;
+    contactService.suggestContacts(prefix)
+      .then((results) => {
+        if (current) setSuggestions(results);
+      })
+      .catch(() => {
+        if (current) setSuggestions([]);
+      });
+    return () => {
+      current = false;
+    };
+  }, [searchQuery]);
+
   const handleCreateContact = () => {
     setModalMode('create');
     setSelectedContact(null);
@@ -348,6 +378,19 @@ const AllContacts = () => {
     }
   };
 
+  // Event handler: Suggestion selection; contacts outside the loaded page are fetched
+  const handleSuggestionClick = async (suggestion) => {
+    setSuggestions([]);
+    setSearchQuery('');
+    try {
+      const contact = contacts.find(c => c.id === suggestion.id)
+        || await contactService.getContactById(suggestion.id);
+      handleContactClick(contact);
+    } catch (error) {
+      toast.error('Failed to load contact');
+    }
+  };
+
   // Event handler: Contact selection via keyboard
   const handleContactKeyDown = (e, contact) => {
     if (e.key === 'Enter' || e.key === ' ') {
@@ -518,6 +561,22 @@ const AllContacts = () => {
                 onChange={(e) => setSearchQuery(e.target.value)}
                 className="w-full pl-10 pr-4 py-2.5 bg-zinc-900 border border-zinc-800 rounded-lg text-sm text-white placeholder-zinc-500 focus:outline-none focus:border-zinc-700"
               />
+              {suggestions.length > 0 && (
+                <ul className="absolute z-10 mt-1 w-full bg-zinc-900 border border-zinc-800 rounded-lg shadow-lg overflow-hidden">
+                  {suggestions.map((suggestion) => (
+                    <li key={suggestion.id}>
+                      <button
+                        type="button"
+                        onClick={() => handleSuggestionClick(suggestion)}
+                        className="w-full px-4 py-2 flex items-center justify-between text-left text-sm text-white hover:bg-zinc-800 transition"
+                      >
+                        <span className="truncate">{suggestion.displayName}</span>
+                        {suggestion.isFavorite && <Star size={14} className="fill-yellow-500 text-yellow-500 shrink-0" />}
+                      </button>
+                    </li>
+                  ))}
+                </ul>
+              )}
             </div>
             <button
               onClick={handleCreateContact}
@@ -18,6 +18,13 @@ const authService = {
 
   // Logout user
   logout: () => {
+    // Revoke the token server-side (fire-and-forget, local logout proceeds regardless)
+    const token = localStorage.getItem('token');
+    if (token) {
+      api.post('/user/logout', null, { headers: { Authorization: `Bearer ${token}` } })
+        .catch(() => {});
+    }
+
     // Clear ALL user-related data from localStorage
     localStorage.removeItem('token');
     localStorage.removeItem('user');
@@ -17,6 +17,14 @@ const contactService = {
     return response.data;
   },
 
+  // Typeahead suggestions: id, displayName and isFavorite, favorites first
+  suggestContacts: async (prefix, limit = 8) => {
+    const response = await api.get('/contacts/suggest', {
+      params: { prefix, limit },
+    });
+    return response.data;
+  },
+
   // Get single contact
   getContactById: async (id) => {
     const response = await api.get(`/contacts/${id}`);
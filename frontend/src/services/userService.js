@@ -22,6 +22,10 @@ const userService = {
   // Change password
   changePassword: async (passwordData) => {
     const response = await api.put("/user/change-password", passwordData);
+    // Changing the password invalidates older tokens; switch to the fresh one
+    if (response.data.token) {
+      localStorage.setItem("token", response.data.token);
+    }
     return response.data;
   },
 